@@ -0,0 +1,67 @@
+/**
+ * @file: Aggregate.java
+ * @description: This interface defines a monoid summary of tree elements, such as a count, a sum of points or the
+ * most podiums. AvlTree keeps one value per aggregate in every node, covering that node's whole subtree, so totals
+ * over a key range come from O(log n) nodes instead of a walk over every item. combine() must be associative and
+ * identity() must leave any value unchanged; combine() need not be commutative, since values are always combined
+ * in key order.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+public interface Aggregate<E, V> {
+    /* Returns the value of an empty range */
+    V identity();
+
+    /**
+     * Summarizes one element
+     *
+     * @param element the element.
+     * @return its value.
+     */
+    V of(E element);
+
+    /**
+     * Combines the values of two adjacent ranges
+     *
+     * @param left the value of the range with the smaller keys.
+     * @param right the value of the range with the larger keys.
+     * @return the value of both ranges together.
+     */
+    V combine(V left, V right);
+
+    /**
+     * Creates an aggregate from its three parts
+     *
+     * @param identity the value of an empty range.
+     * @param of summarizes one element.
+     * @param combine combines two adjacent values.
+     * @return the aggregate.
+     */
+    static <E, V> Aggregate<E, V> of(V identity, Function<? super E, ? extends V> of, BinaryOperator<V> combine) {
+        return new Aggregate<E, V>() {
+            public V identity() { return identity; }
+            public V of(E element) { return of.apply(element); }
+            public V combine(V left, V right) { return combine.apply(left, right); }
+        };
+    }
+
+    /* Counts the elements in a range */
+    static <E> Aggregate<E, Integer> count() {
+        return of(0, element -> 1, Integer::sum);
+    }
+
+    /* Sums a number over the elements in a range, e.g. sum(F1::getPoints) */
+    static <E> Aggregate<E, Double> sum(ToDoubleFunction<? super E> value) {
+        return of(0.0, value::applyAsDouble, Double::sum);
+    }
+
+    /* Finds the largest number over the elements in a range (Integer.MIN_VALUE if empty), e.g. max(F1::getPodiums) */
+    static <E> Aggregate<E, Integer> max(ToIntFunction<? super E> value) {
+        return of(Integer.MIN_VALUE, value::applyAsInt, Math::max);
+    }
+}
@@ -0,0 +1,127 @@
+/**
+ * @file: AggregateBench.java
+ * @description: Measures range totals over the driver tree ("points, race wins and most podiums for every driver
+ * ranked between X and Y") computed by walking the items in range against the same totals read from the aggregates
+ * AvlTree keeps in its nodes. Also reports what keeping the aggregates costs on insert. The dataset is copied with
+ * numbered names until it reaches the requested number of records, and both answers must agree.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class AggregateBench {
+    private static final Aggregate<F1, Double> POINTS = Aggregate.sum(F1::getPoints);
+    private static final Aggregate<F1, Double> RACE_WINS = Aggregate.sum(F1::getRaceWins);
+    private static final Aggregate<F1, Integer> MOST_PODIUMS = Aggregate.max(F1::getPodiums);
+
+    public static void main(String[] args) throws IOException {
+        // Usage: java AggregateBench <dataset file> [records] [queries] [rounds]
+        if (args.length < 1) {
+            System.err.println("Usage: java AggregateBench <dataset file> [records] [queries] [rounds]");
+            System.exit(1);
+        }
+        int records = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 1_000;
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        List<F1> drivers = loadDataset(args[0], records);
+        long start = System.nanoTime();
+        AvlTree<F1> plain = new AvlTree<>();
+        for (F1 driver : drivers) {
+            plain.insert(driver);
+        }
+        double plainMillis = (System.nanoTime() - start) / 1e6;
+        start = System.nanoTime();
+        AvlTree<F1> tree = new AvlTree<>();
+        tree.addAggregate(POINTS);
+        tree.addAggregate(RACE_WINS);
+        tree.addAggregate(MOST_PODIUMS);
+        for (F1 driver : drivers) {
+            tree.insert(driver);
+        }
+        double aggregateMillis = (System.nanoTime() - start) / 1e6;
+
+        /* Ranges are picked by rank: between the drivers ranked x and y */
+        List<F1> ranked = new ArrayList<>(tree.size());
+        for (F1 driver : tree) {
+            ranked.add(driver);
+        }
+        Random random = new Random(42);
+        F1[] lo = new F1[queries];
+        F1[] hi = new F1[queries];
+        for (int q = 0; q < queries; q++) {
+            int x = random.nextInt(ranked.size());
+            int y = Math.min(ranked.size() - 1, x + random.nextInt(ranked.size() / 4 + 1));
+            lo[q] = ranked.get(x);
+            hi[q] = ranked.get(y);
+        }
+
+        System.out.println("===========Aggregate Benchmark===========");
+        System.out.printf("records: %d, build without aggregates: %.1f ms, with 3 aggregates: %.1f ms\n",
+                tree.size(), plainMillis, aggregateMillis);
+        System.out.println("round,walkMillis,aggregateMillis,speedup");
+        /* The first round only warms up the JIT */
+        for (int round = 0; round <= rounds; round++) {
+            double walkTotal = 0;
+            start = System.nanoTime();
+            for (int q = 0; q < queries; q++) {
+                walkTotal += walk(plain, lo[q], hi[q]);
+            }
+            double walkMillis = (System.nanoTime() - start) / 1e6;
+
+            double aggregateTotal = 0;
+            start = System.nanoTime();
+            for (int q = 0; q < queries; q++) {
+                aggregateTotal += tree.aggregate(POINTS, lo[q], hi[q]) + tree.aggregate(RACE_WINS, lo[q], hi[q])
+                        + tree.aggregate(MOST_PODIUMS, lo[q], hi[q]);
+            }
+            double treeMillis = (System.nanoTime() - start) / 1e6;
+
+            if (Math.abs(walkTotal - aggregateTotal) > 1e-6 * Math.abs(walkTotal)) {
+                System.out.println("AGGREGATE RESULTS DIFFER FROM THE WALK!");
+                System.exit(1);
+            }
+            if (round > 0) {
+                System.out.printf("%d,%.1f,%.2f,%.0fx\n", round, walkMillis, treeMillis, walkMillis / treeMillis);
+            }
+        }
+    }
+
+    /* totals points, race wins and most podiums by iterating the tree up to hi */
+    private static double walk(AvlTree<F1> tree, F1 lo, F1 hi) {
+        double points = 0;
+        double raceWins = 0;
+        int podiums = Integer.MIN_VALUE;
+        for (F1 driver : tree) {
+            if (driver.compareTo(hi) > 0) {
+                break;
+            }
+            if (driver.compareTo(lo) >= 0) {
+                points += driver.getPoints();
+                raceWins += driver.getRaceWins();
+                podiums = Math.max(podiums, driver.getPodiums());
+            }
+        }
+        return points + raceWins + podiums;
+    }
+
+    /* parses the dataset's data lines, copied with numbered driver names until there are the requested records */
+    private static List<F1> loadDataset(String dataset, int records) throws IOException {
+        List<String> lines = new ArrayList<>(Files.readAllLines(Paths.get(dataset), StandardCharsets.UTF_8));
+        lines.remove(0);
+        lines.removeIf(String::isBlank);
+        List<F1> drivers = new ArrayList<>(records);
+        for (int i = 0; i < records; i++) {
+            String line = lines.get(i % lines.size());
+            int comma = line.indexOf(',');
+            drivers.add(Parser.parseDriver(line.substring(0, comma) + " #" + (i / lines.size()) + line.substring(comma)));
+        }
+        return drivers;
+    }
+}
@@ -0,0 +1,309 @@
+/**
+ * @file: AvlMap.java
+ * @description: Defines a sorted map on an AVL tree. Each node holds its key and value directly and is itself the
+ * Map.Entry handed out by iteration, so there are no separate key objects or wrapper entries.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Stack;
+import java.util.function.Function;
+
+/**
+ * Implements a sorted map as an AVL tree.
+ * Note that all "matching" is based on the compareTo method of the keys.
+ */
+public class AvlMap<K extends Comparable<? super K>, V> implements Iterable<Map.Entry<K, V>> {
+    /**
+     * Construct the map.
+     */
+    public AvlMap( ) {
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Find the value stored for a key.
+     * @param key the key to search for.
+     * @return the value, or null if the key is not present.
+     */
+    public V get( K key ) {
+        MapNode<K, V> t = find( key );
+        return t == null ? null : t.value;
+    }
+
+    /**
+     * Test if a key is present.
+     * @param key the key to search for.
+     * @return true if the key is present.
+     */
+    public boolean containsKey( K key ) {
+        return find( key ) != null;
+    }
+
+    /**
+     * Store a value for a key, replacing any previous value.
+     * @param key the key.
+     * @param value the value to store.
+     * @return the previous value, or null if the key was not present.
+     */
+    public V put( K key, V value ) {
+        previous = null;
+        root = put( key, value, root );
+        return previous;
+    }
+
+    /**
+     * Return the value for a key, computing and storing it first if the key is not present.
+     * The tree is walked once when the key is present.
+     * @param key the key.
+     * @param mapping computes the value for a missing key; a null result stores nothing.
+     * @return the present or computed value.
+     */
+    public V computeIfAbsent( K key, Function<? super K, ? extends V> mapping ) {
+        MapNode<K, V> t = find( key );
+        if( t != null )
+            return t.value;
+        V value = mapping.apply( key );
+        if( value != null )
+            root = put( key, value, root );
+        return value;
+    }
+
+    /**
+     * Remove a key. Nothing is done if the key is not found.
+     * @param key the key to remove.
+     * @return the removed value, or null if the key was not present.
+     */
+    public V remove( K key ) {
+        previous = null;
+        root = remove( key, root );
+        return previous;
+    }
+
+    /**
+     * Returns the number of keys in the map.
+     */
+    public int size( ) {
+        return size;
+    }
+
+    /**
+     * Test if the map is logically empty.
+     * @return true if empty, false otherwise.
+     */
+    public boolean isEmpty( ) {
+        return root == null;
+    }
+
+    /**
+     * Make the map logically empty.
+     */
+    public void clear( ) {
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Iterator that visits the entries in key order. Entries are the tree nodes themselves;
+     * setValue writes through to the map.
+     * @return an iterator over the entries.
+     */
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator( ) {
+        return new Iterator<Map.Entry<K, V>>( ) {
+            private final Stack<MapNode<K, V>> stack = new Stack<>( );
+            private MapNode<K, V> current = root;
+
+            @Override
+            public boolean hasNext( ) {
+                return current != null || !stack.isEmpty( );
+            }
+
+            @Override
+            public Map.Entry<K, V> next( ) {
+                if( !hasNext( ) )
+                    throw new NoSuchElementException( );
+                while( current != null ) {
+                    stack.push( current );
+                    current = current.left;
+                }
+                MapNode<K, V> output = stack.pop( );
+                current = output.right;
+                return output;
+            }
+        };
+    }
+
+    /**
+     * Internal method to find the node for a key.
+     * @return the node, or null if the key is not present.
+     */
+    private MapNode<K, V> find( K key ) {
+        MapNode<K, V> t = root;
+        while (t != null) {
+            int compareValue = key.compareTo(t.key);        // Compares the keys of the nodes
+            if (compareValue < 0) {                         // Go left if key is smaller
+                t = t.left;
+            } else if (compareValue > 0) {                  // Go right if key is bigger
+                t = t.right;
+            } else {
+                return t;                                   // Node found
+            }
+        }
+        return null;                                        // Node not found
+    }
+
+    /**
+     * Internal method to store a value in a subtree. Sets previous to the replaced value.
+     * @return the new root of the subtree.
+     */
+    private MapNode<K, V> put( K key, V value, MapNode<K, V> t ) {
+        if (t == null) {                                    // Key not present: add a new node
+            size++;
+            return new MapNode<>(key, value);
+        }
+        int compareValue = key.compareTo(t.key);
+        if (compareValue < 0) {                             // Go left if key is smaller
+            t.left = put(key, value, t.left);
+        } else if (compareValue > 0) {                      // Go right if key is greater
+            t.right = put(key, value, t.right);
+        } else {
+            previous = t.value;                             // Replace the value in place
+            t.value = value;
+            return t;
+        }
+        return balance(t);
+    }
+
+    /**
+     * Internal method to remove a key from a subtree. Sets previous to the removed value.
+     * @return the new root of the subtree.
+     */
+    private MapNode<K, V> remove( K key, MapNode<K, V> t ) {
+        if (t == null) {                                    // Base case (empty subtree)
+            return null;
+        }
+        int compareValue = key.compareTo(t.key);
+        if (compareValue < 0) {
+            t.left = remove(key, t.left);
+        } else if (compareValue > 0) {
+            t.right = remove(key, t.right);
+        } else if (t.left != null && t.right != null) {     // Node with 2 children
+            previous = t.value;
+            MapNode<K, V> min = t.right;                    // Inorder successor takes this node's entry
+            while (min.left != null) {
+                min = min.left;
+            }
+            t.key = min.key;
+            t.value = min.value;
+            V removed = previous;
+            t.right = remove(t.key, t.right);
+            previous = removed;
+        } else {                                            // Only one or no child
+            previous = t.value;
+            size--;
+            t = (t.left == null) ? t.right : t.left;
+        }
+        return balance(t);
+    }
+
+    /**
+     * Restores balance for the subtree rooted at t. These are AvlTree's rotations on MapNode;
+     * AvlTree's nodes also carry aggregates, tombstones and stats, so the two are kept as
+     * separate copies and a fix to one must be made to the other.
+     * @return new root of the subtree
+     */
+    private MapNode<K, V> balance( MapNode<K, V> t ) {
+        if (t == null) {
+            return t;
+        }
+        if (height(t.left) - height(t.right) > 1) {                     // Unbalance on the left
+            if (height(t.left.left) < height(t.left.right)) {           // Left-Right case
+                t.left = rotateWithRightChild(t.left);
+            }
+            t = rotateWithLeftChild(t);
+        } else if (height(t.right) - height(t.left) > 1) {              // Unbalance on the right
+            if (height(t.right.right) < height(t.right.left)) {         // Right-Left case
+                t.right = rotateWithLeftChild(t.right);
+            }
+            t = rotateWithRightChild(t);
+        }
+        t.height = Math.max(height(t.left), height(t.right)) + 1;
+        return t;
+    }
+
+    /**
+     * Return the height of node t, or -1, if null.
+     */
+    private int height( MapNode<K, V> t ) {
+        return t == null ? -1 : t.height;
+    }
+
+    /**
+     * Rotate binary tree node with left child. Update heights, then return new root.
+     */
+    private MapNode<K, V> rotateWithLeftChild( MapNode<K, V> k2 ) {
+        MapNode<K, V> k1 = k2.left;
+        k2.left = k1.right;
+        k1.right = k2;
+        k2.height = Math.max(height(k2.left), height(k2.right)) + 1;
+        k1.height = Math.max(height(k1.left), k2.height) + 1;
+        return k1;
+    }
+
+    /**
+     * Rotate binary tree node with right child. Update heights, then return new root.
+     */
+    private MapNode<K, V> rotateWithRightChild( MapNode<K, V> k1 ) {
+        MapNode<K, V> k2 = k1.right;
+        k1.right = k2.left;
+        k2.left = k1;
+        k1.height = Math.max(height(k1.left), height(k1.right)) + 1;
+        k2.height = Math.max(k1.height, height(k2.right)) + 1;
+        return k2;
+    }
+
+    private static class MapNode<K, V> implements Map.Entry<K, V> {
+        // Constructor
+        MapNode( K theKey, V theValue ) {
+            key    = theKey;
+            value  = theValue;
+            height = 0;
+        }
+
+        @Override public K getKey( ) { return key; }
+        @Override public V getValue( ) { return value; }
+        @Override public V setValue( V theValue ) {
+            V old = value;
+            value = theValue;
+            return old;
+        }
+        @Override public String toString( ) { return key + "=" + value; }
+
+        // Equal to any Map.Entry with equal key and value, as the Map.Entry contract requires
+        @Override public boolean equals( Object o ) {
+            return o instanceof Map.Entry<?, ?> e
+                    && Objects.equals( key, e.getKey( ) ) && Objects.equals( value, e.getValue( ) );
+        }
+        @Override public int hashCode( ) { return Objects.hashCode( key ) ^ Objects.hashCode( value ); }
+
+        K              key;         // The key in the node
+        V              value;       // The value stored for the key
+        MapNode<K, V>  left;        // Left child
+        MapNode<K, V>  right;       // Right child
+        int            height;      // Height
+    }
+
+    /** The tree root. */
+    private MapNode<K, V> root;
+
+    /** Number of keys in the map. */
+    private int size;
+
+    /** Value replaced or removed by the last put or remove. */
+    private V previous;
+}
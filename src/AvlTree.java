@@ -5,16 +5,30 @@
  * @date: October 19, 2025
  */
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Stack;
+import java.util.function.Predicate;
+
 /**
  * Implements an AVL tree.
  * Note that all "matching" is based on the compareTo method.
  */
-public class AvlTree<AnyType extends Comparable<? super AnyType>> {
+public class AvlTree<AnyType extends Comparable<? super AnyType>> implements Iterable<AnyType> {
     /**
      * Construct the tree.
      */
     public AvlTree( ) {
         root = null;
+        size = 0;
     }
 
     /**
@@ -22,15 +36,134 @@ public class AvlTree<AnyType extends Comparable<? super AnyType>> {
      * @param x the item to insert.
      */
     public void insert( AnyType x ) {
+        if( stats != null )
+            stats.begin( TreeStats.Op.INSERT );
         root = insert( x, root );
+        if( stats != null )
+            stats.end( );
+    }
+
+    /**
+     * Insert a batch of items; duplicates are ignored. The batch is sorted and built into a
+     * balanced tree, which is then merged in with split and join, costing O(m log(n/m + 1)) for m items
+     * into a tree of n. When the batch is at least as large as the tree, both are merged as sorted
+     * runs and the tree is rebuilt in O(n + m) instead. Batches that are tiny next to the tree are
+     * simply inserted one at a time, which has lower constant factors there.
+     * @param items the items to insert.
+     */
+    public void insertAll( Collection<? extends AnyType> items ) {
+        if( items.isEmpty( ) )
+            return;
+        if( stats != null )
+            stats.begin( TreeStats.Op.INSERT );
+        purge( );
+        List<AnyType> batch = sortedDistinct( items );
+        int size = size( );
+        if( (long) batch.size( ) * SMALL_BATCH_RATIO < size ) {
+            for( AnyType x : batch )
+                root = insert( x, root );
+        } else if( batch.size( ) >= size ) {
+            List<AnyType> merged = mergeSorted( toSortedList( ), batch );
+            root = buildTree( merged, 0, merged.size( ) );
+            this.size = merged.size( );
+        } else {
+            mergedDuplicates = 0;
+            root = union( buildTree( batch, 0, batch.size( ) ), root );
+            this.size = size + batch.size( ) - mergedDuplicates;
+        }
+        if( stats != null )
+            stats.end( );
     }
 
     /**
      * Remove from the tree. Nothing is done if x is not found.
+     * With lazy removal on, the node is only marked as deleted, and the tree is
+     * compacted once the tombstones pass the configured share of its nodes.
      * @param x the item to remove.
      */
     public void remove( AnyType x ) {
-        root = remove( x, root );
+        if( stats != null )
+            stats.begin( TreeStats.Op.REMOVE );
+        if( compactRatio > 0 ) {
+            if( markDeleted( x, root ) && tombstones > compactRatio * ( size( ) + tombstones ) )
+                purge( );
+        } else
+            root = remove( x, root );
+        if( stats != null )
+            stats.end( );
+    }
+
+    /**
+     * Switch between eager and lazy removal. Eager removal (the default) unlinks and rebalances
+     * at once. Lazy removal marks the node as deleted instead, which costs one search and no
+     * restructuring; deleted items are skipped by every query, revived if inserted again, and
+     * dropped by an O(n) rebuild once they make up more than compactRatio of the nodes. That
+     * amortizes to O(1/compactRatio) per remove on top of the search, and suits bursts of removes.
+     * @param compactRatio the share of nodes, in (0, 1], that may be tombstones; 0 switches
+     *        back to eager removal, dropping any tombstones now.
+     */
+    public void setLazyRemove( double compactRatio ) {
+        if( !( compactRatio >= 0 && compactRatio <= 1 ) )
+            throw new IllegalArgumentException( "compactRatio must be between 0 and 1" );
+        this.compactRatio = compactRatio;
+        if( compactRatio == 0 )
+            purge( );
+    }
+
+    /**
+     * Returns the number of removed items still linked into the tree as tombstones.
+     */
+    public int tombstones( ) {
+        return tombstones;
+    }
+
+    /**
+     * Rebuild the tree without its tombstones in O(n), as a perfectly balanced tree.
+     * The live nodes are relinked rather than copied. Nothing is done if there are none.
+     */
+    public void purge( ) {
+        if( tombstones == 0 )
+            return;
+        List<AvlNode<AnyType>> live = new ArrayList<>( );
+        collectLive( root, live );
+        root = relink( live, 0, live.size( ) );
+        size = live.size( );
+        tombstones = 0;
+    }
+
+    /**
+     * Internal method to mark x as deleted in a subtree, without restructuring.
+     * The live flags and aggregate values on the search path are recomputed on the way back up.
+     * @return true if a live node was marked.
+     */
+    private boolean markDeleted( AnyType x, AvlNode<AnyType> t ) {
+        if (t == null) {
+            return false;
+        }
+        if (stats != null) {
+            stats.visit();
+            stats.compare();
+        }
+        int compareValue = x.compareTo(t.element);
+        boolean marked;
+        if (compareValue < 0) {
+            marked = markDeleted(x, t.left);
+        } else if (compareValue > 0) {
+            marked = markDeleted(x, t.right);
+        } else if (t.deleted) {
+            return false;                               // Already removed
+        } else {
+            t.deleted = true;
+            tombstones++;
+            if (size >= 0) {
+                size--;
+            }
+            marked = true;
+        }
+        if (marked) {
+            update(t);                                  // Keeps anyLive (and any aggregates) current
+        }
+        return marked;
     }
 
 
@@ -44,6 +177,10 @@ public class AvlTree<AnyType extends Comparable<? super AnyType>> {
 	    if (t == null) {                                // Base case (empty subtree)
             return null;
         }
+        if (stats != null) {
+            stats.visit();
+            stats.compare();
+        }
         int compareValue = x.compareTo(t.element);      // Compare nodes keys
         if (compareValue < 0) {
             t.left = remove(x, t.left);                 // Recursive call on the left subtree
@@ -52,11 +189,23 @@ public class AvlTree<AnyType extends Comparable<? super AnyType>> {
             t.right = remove(x, t.right);               // Recursive call on the right subtree
         }
         else if (t.left != null && t.right != null) {   // Node with 2 children
-            AvlNode<AnyType> min = findMin(t.right);    // Get inorder successor (smallest in right subtree)
+            AvlNode<AnyType> min = t.right;             // Get inorder successor (smallest in right subtree)
+            if (stats != null) {
+                stats.visit();
+            }
+            while (min.left != null) {
+                min = min.left;
+                if (stats != null) {
+                    stats.visit();                      // Counted like BST's successor walk
+                }
+            }
             t.element = min.element;                    // Replace current node's key with successor's key
             t.right = remove(t.element, t.right);       // Remove the successor node from right subtree
         }
         else {                                          // Only one or no child
+            if (size >= 0) {
+                size--;
+            }
             if (t.left == null) {
                 t = t.right;                            // Assign right child as successor
             }
@@ -67,6 +216,48 @@ public class AvlTree<AnyType extends Comparable<? super AnyType>> {
         return balance(t);                              // Balance tree and return
     }
 
+    /**
+     * Iterator that visits the items in sorted (in-order) order.
+     * @return an iterator over the tree.
+     */
+    @Override
+    public Iterator<AnyType> iterator( ) {
+        return new Iterator<AnyType>( ) {
+            private final Stack<AvlNode<AnyType>> stack = new Stack<>( );
+            private AvlNode<AnyType> current = root;
+            private AvlNode<AnyType> upcoming = advance( );
+
+            @Override
+            public boolean hasNext( ) {
+                return upcoming != null;
+            }
+
+            @Override
+            public AnyType next( ) {
+                if( !hasNext( ) )
+                    throw new NoSuchElementException( );
+                AvlNode<AnyType> output = upcoming;
+                upcoming = advance( );
+                return output.element;
+            }
+
+            // Finds the next node in order that is not a tombstone
+            private AvlNode<AnyType> advance( ) {
+                while( current != null || !stack.isEmpty( ) ) {
+                    while( current != null ) {
+                        stack.push( current );
+                        current = current.left;
+                    }
+                    AvlNode<AnyType> t = stack.pop( );
+                    current = t.right;
+                    if( !t.deleted )
+                        return t;
+                }
+                return null;
+            }
+        };
+    }
+
     /**
      * Find the smallest item in the tree.
      * @return smallest item or null if empty.
@@ -74,7 +265,7 @@ public class AvlTree<AnyType extends Comparable<? super AnyType>> {
     public AnyType findMin( ) {
         if( isEmpty( ) )
             throw new UnderflowException( );
-        return findMin( root ).element;
+        return ( tombstones == 0 ? findMin( root ) : firstLive( root ) ).element;
     }
 
     /**
@@ -84,7 +275,7 @@ public class AvlTree<AnyType extends Comparable<? super AnyType>> {
     public AnyType findMax( ) {
         if( isEmpty( ) )
             throw new UnderflowException( );
-        return findMax( root ).element;
+        return ( tombstones == 0 ? findMax( root ) : lastLive( root ) ).element;
     }
 
     /**
@@ -93,7 +284,29 @@ public class AvlTree<AnyType extends Comparable<? super AnyType>> {
      * @return true if x is found.
      */
     public boolean contains( AnyType x ) {
-        return contains( x, root );
+        if( stats == null )
+            return contains( x, root );
+        stats.begin( TreeStats.Op.SEARCH );
+        boolean found = contains( x, root );
+        stats.end( );
+        return found;
+    }
+
+    /**
+     * Look up many items in one coordinated traversal. The keys are sorted and pushed down
+     * the tree together, so each node is visited at most once per batch instead of once per key.
+     * @param keys the items to search for; duplicates are allowed.
+     * @return a bit set where bit i is set if keys.get(i) is in the tree.
+     */
+    public BitSet containsBatch( List<? extends AnyType> keys ) {
+        BitSet found = new BitSet( keys.size( ) );
+        if( stats != null )
+            stats.begin( TreeStats.Op.SEARCH );
+        Integer[] order = sortedOrder( keys );
+        containsBatch( keys, order, 0, order.length, root, found );
+        if( stats != null )
+            stats.end( );
+        return found;
     }
 
     /**
@@ -101,6 +314,170 @@ public class AvlTree<AnyType extends Comparable<? super AnyType>> {
      */
     public void makeEmpty( ) {
         root = null;
+        size = 0;
+        tombstones = 0;
+    }
+
+    /**
+     * Returns the number of items in the tree. After a split or a set operation
+     * the size is recounted once, on the first call.
+     */
+    public int size( ) {
+        if( size < 0 )
+            size = count( root );
+        return size;
+    }
+
+    /**
+     * Split the tree at x in O(log n): items smaller than x stay in this tree
+     * and items greater than or equal to x move to the returned tree.
+     * @param x the item to split at.
+     * @return a new tree holding every item not smaller than x.
+     */
+    public AvlTree<AnyType> split( AnyType x ) {
+        purge( );
+        Split<AnyType> parts = new Split<>( );
+        split( x, root, parts );
+        AvlTree<AnyType> upper = new AvlTree<>( );
+        upper.aggregates = aggregates;
+        upper.compactRatio = compactRatio;
+        upper.root = parts.node != null ? join( null, parts.node, parts.right ) : parts.right;
+        upper.size = -1;
+        root = parts.left;
+        size = -1;
+        return upper;
+    }
+
+    /**
+     * Concatenate two trees in O(log n). Every item in left must be smaller than
+     * every item in right. Both trees are left empty; their nodes are reused. The result keeps
+     * left's aggregates and removal mode; if right kept different aggregates, its nodes are
+     * summarized again in O(m). Tombstones in either tree are purged first.
+     * @param left the tree of smaller items.
+     * @param right the tree of larger items.
+     * @return a new tree holding the items of both.
+     * @throws IllegalArgumentException if the trees overlap.
+     */
+    public static <T extends Comparable<? super T>> AvlTree<T> join( AvlTree<T> left, AvlTree<T> right ) {
+        left.purge( );
+        right.purge( );
+        if( !left.isEmpty( ) && !right.isEmpty( ) && left.findMax( ).compareTo( right.findMin( ) ) >= 0 )
+            throw new IllegalArgumentException( "join needs every item of left to be smaller than every item of right" );
+        if( !Arrays.equals( left.aggregates, right.aggregates ) )
+            right.setAggregates( left.aggregates );
+        AvlTree<T> joined = new AvlTree<>( );
+        joined.aggregates = left.aggregates;
+        joined.compactRatio = left.compactRatio;
+        joined.root = left.join( left.root, right.root );
+        joined.size = ( left.size < 0 || right.size < 0 ) ? -1 : left.size + right.size;
+        left.makeEmpty( );
+        right.makeEmpty( );
+        return joined;
+    }
+
+    /**
+     * Add every item of other to this tree. Merging costs O(m log(n/m + 1)) for m items in other,
+     * but other is copied first so that it is not changed (apart from having its tombstones purged,
+     * as with the other set operations), so the whole call is O(m log(n/m + 1) + m).
+     * @param other the tree whose items are added.
+     */
+    public void union( AvlTree<AnyType> other ) {
+        purge( );
+        other.purge( );
+        int size = size( );
+        mergedDuplicates = 0;
+        root = union( copy( other.root ), root );
+        this.size = size + other.size( ) - mergedDuplicates;
+    }
+
+    /**
+     * Keep only the items that are also in other, in O(m log(n/m + 1)). The other tree is not changed
+     * and nothing is copied: the items kept are this tree's nodes.
+     * @param other the tree whose items are kept.
+     */
+    public void intersection( AvlTree<AnyType> other ) {
+        purge( );
+        other.purge( );
+        root = intersection( root, other.root );
+        size = -1;
+    }
+
+    /**
+     * Remove every item that is in other, in O(m log(n/m + 1)). The other tree is not changed.
+     * @param other the tree whose items are removed.
+     */
+    public void difference( AvlTree<AnyType> other ) {
+        purge( );
+        other.purge( );
+        root = difference( root, other.root );
+        size = -1;
+    }
+
+    /**
+     * Keep a monoid aggregate (such as a count or a sum of points) in every node from now on, so
+     * aggregate() can answer it for any key range in O(log n). Every existing node is summarized
+     * once, in O(n); after that inserts, removes, rotations, splits and joins keep the values current
+     * at O(1) extra cost per node they touch. Adding an aggregate that is already kept does nothing.
+     * @param aggregate the aggregate to keep.
+     */
+    @SuppressWarnings( "unchecked" )
+    public void addAggregate( Aggregate<? super AnyType, ?> aggregate ) {
+        if( indexOf( aggregate ) >= 0 )
+            return;
+        Aggregate<? super AnyType, ?>[ ] kept = aggregates == null
+                ? (Aggregate<? super AnyType, ?>[ ]) new Aggregate<?, ?>[ 1 ]
+                : Arrays.copyOf( aggregates, aggregates.length + 1 );
+        kept[ kept.length - 1 ] = aggregate;
+        setAggregates( kept );
+    }
+
+    /**
+     * Combine an aggregate over every item from lo to hi, inclusive, in O(log n).
+     * @param aggregate an aggregate kept by addAggregate.
+     * @param lo the smallest item of the range.
+     * @param hi the largest item of the range.
+     * @return the combined value, or the aggregate's identity if no item is in range.
+     * @throws IllegalArgumentException if the tree does not keep this aggregate.
+     */
+    public <V> V aggregate( Aggregate<? super AnyType, V> aggregate, AnyType lo, AnyType hi ) {
+        int i = checkedIndexOf( aggregate );
+        if( lo.compareTo( hi ) > 0 )
+            return aggregate.identity( );
+        return aggregate( aggregate, i, root, lo, hi );
+    }
+
+    /**
+     * Combine an aggregate over the whole tree in O(1).
+     * @param aggregate an aggregate kept by addAggregate.
+     * @return the combined value, or the aggregate's identity if the tree is empty.
+     * @throws IllegalArgumentException if the tree does not keep this aggregate.
+     */
+    public <V> V aggregate( Aggregate<? super AnyType, V> aggregate ) {
+        return summary( aggregate, checkedIndexOf( aggregate ), root );
+    }
+
+    /**
+     * Find every item from lo to hi, inclusive, whose value under an aggregate passes a test,
+     * skipping each subtree whose stored value fails it. The test must fail the value of a
+     * subtree only if it fails every item in it, as "latest end is at least Y" does for a max,
+     * so a query only walks the paths that lead to a match. Items are compared with lo and hi
+     * only on the two boundary paths, O(log n); every other node visited is a match or on the
+     * path to one (or a pruned child of such a node) and costs O(1), so matches that are close
+     * together in the tree share their paths.
+     * @param aggregate an aggregate kept by addAggregate.
+     * @param test accepts the values of the subtrees and items worth visiting.
+     * @param lo the smallest item of the range.
+     * @param hi the largest item of the range.
+     * @return the items found, in order.
+     * @throws IllegalArgumentException if the tree does not keep this aggregate.
+     */
+    public <V> List<AnyType> findAll( Aggregate<? super AnyType, V> aggregate, Predicate<? super V> test,
+                                      AnyType lo, AnyType hi ) {
+        int i = checkedIndexOf( aggregate );
+        List<AnyType> found = new ArrayList<>( );
+        if( lo.compareTo( hi ) <= 0 )
+            findAll( aggregate, i, test, root, lo, hi, found );
+        return found;
     }
 
     /**
@@ -108,7 +485,7 @@ public class AvlTree<AnyType extends Comparable<? super AnyType>> {
      * @return true if empty, false otherwise.
      */
     public boolean isEmpty( ) {
-        return root == null;
+        return root == null || ( tombstones > 0 && size( ) == 0 );
     }
 
     /**
@@ -123,6 +500,14 @@ public class AvlTree<AnyType extends Comparable<? super AnyType>> {
 
     private static final int ALLOWED_IMBALANCE = 1;
 
+    /** insertAll falls back to single inserts for batches under 1/SMALL_BATCH_RATIO of the tree size. */
+    private static final int SMALL_BATCH_RATIO = 32;
+
+    /** Snapshot header ("AVLS") and the child flags packed under each node's height. */
+    private static final int SNAPSHOT_MAGIC = 0x41564c53;
+    private static final int HAS_LEFT = 1;
+    private static final int HAS_RIGHT = 2;
+
     /**
      * Restores balance for the subtree rooted at t.
      * @param t the node that roots the subtree.
@@ -145,10 +530,72 @@ public class AvlTree<AnyType extends Comparable<? super AnyType>> {
                 t = doubleWithRightChild(t);                               // Double rotation
             }
         }
-        t.height = Math.max(height(t.left), height(t.right)) + 1;          // Compute height again
+        update(t);                                                         // Compute height and aggregates again
         return t;                                                          // Return balanced subtree root
     }
 
+    /**
+     * Returns the height of the tree (-1 if empty).
+     */
+    public int height( ) {
+        return height( root );
+    }
+
+    /**
+     * Write the tree to a binary snapshot: the item count, then every node in pre-order
+     * as one byte holding its height and which children it has, followed by its item.
+     * The exact shape is kept, so reading it back needs no comparisons or rotations.
+     * Tombstones are purged first.
+     * @param out the stream to write to.
+     * @param codec writes each item.
+     */
+    public void writeSnapshot( DataOutput out, TreeCodec<? super AnyType> codec ) throws IOException {
+        purge( );
+        out.writeInt( SNAPSHOT_MAGIC );
+        out.writeInt( size( ) );
+        writeSnapshot( root, out, codec );
+    }
+
+    /**
+     * Replace the contents of the tree with a snapshot written by writeSnapshot, in O(n)
+     * with no comparisons. Heights and balance are checked as the nodes are linked, and the
+     * number of nodes must match the item count in the header.
+     * @param in the stream to read from.
+     * @param codec reads each item.
+     * @throws IOException if the stream is not a valid AVL snapshot, its count is wrong, or it ends early.
+     */
+    public void readSnapshot( DataInput in, TreeCodec<? extends AnyType> codec ) throws IOException {
+        if( in.readInt( ) != SNAPSHOT_MAGIC )
+            throw new IOException( "not an AVL snapshot" );
+        int count = in.readInt( );
+        if( count < 0 )
+            throw new IOException( "AVL snapshot has a negative item count" );
+        snapshotNodes = 0;
+        AvlNode<AnyType> newRoot = count == 0 ? null : readSnapshotNode( in, codec, count );
+        if( snapshotNodes != count )
+            throw new IOException( "AVL snapshot has fewer nodes than its item count" );
+        root = newRoot;
+        size = count;
+        tombstones = 0;
+    }
+
+    /**
+     * Attach instrumentation counters to the tree, or detach them with null.
+     * @param stats the counters to update on every operation.
+     */
+    public void setStats( TreeStats stats ) {
+        this.stats = stats;
+        if( stats != null )
+            stats.attach( this::height, true );       // the root stores its height
+    }
+
+    /**
+     * Returns the attached instrumentation counters, or null if none.
+     */
+    public TreeStats getStats( ) {
+        return stats;
+    }
+
     public void checkBalance( ) {
         checkBalance( root );
     }
@@ -177,7 +624,16 @@ public class AvlTree<AnyType extends Comparable<? super AnyType>> {
      */
     private AvlNode<AnyType> insert( AnyType x, AvlNode<AnyType> t ) {
         if (t == null) {                                    // Root is empty
-            return new AvlNode<>(x, null, null);     // Add new node (root)
+            if (size >= 0) {
+                size++;
+            }
+            AvlNode<AnyType> leaf = new AvlNode<>(x, null, null);     // Add new node (root)
+            update(leaf);
+            return leaf;
+        }
+        if (stats != null) {
+            stats.visit();
+            stats.compare();
         }
         int compareValue = x.compareTo(t.element);         // Compare nodes keys
         if (compareValue < 0) {                            // Go left if x is smaller
@@ -185,6 +641,15 @@ public class AvlTree<AnyType extends Comparable<? super AnyType>> {
         } else if (compareValue > 0) {                     // Go right if x is greater
             t.right = insert(x, t.right);
         } else {
+            if (t.deleted) {                               // Revive a lazily removed item
+                t.element = x;
+                t.deleted = false;
+                tombstones--;
+                if (size >= 0) {
+                    size++;
+                }
+                update(t);
+            }
             return t;                                      // Ignore duplicates
         }
         return balance(t);                                 // Return root of the balanced subtree
@@ -220,6 +685,49 @@ public class AvlTree<AnyType extends Comparable<? super AnyType>> {
         return t;                                   // Return the right-most element
     }
 
+    /**
+     * Internal method to find the node holding the smallest item that is not a tombstone.
+     * Subtrees holding only tombstones are stepped over, so this is O(log n).
+     * @return the node, or null if every node in the subtree is a tombstone.
+     */
+    private AvlNode<AnyType> firstLive( AvlNode<AnyType> t ) {
+        while (t != null && t.anyLive) {
+            if (anyLive(t.left)) {                  // The smallest live item is on the left
+                t = t.left;
+            } else if (!t.deleted) {
+                return t;
+            } else {
+                t = t.right;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Internal method to find the node holding the largest item that is not a tombstone.
+     * Subtrees holding only tombstones are stepped over, so this is O(log n).
+     * @return the node, or null if every node in the subtree is a tombstone.
+     */
+    private AvlNode<AnyType> lastLive( AvlNode<AnyType> t ) {
+        while (t != null && t.anyLive) {
+            if (anyLive(t.right)) {                 // The largest live item is on the right
+                t = t.right;
+            } else if (!t.deleted) {
+                return t;
+            } else {
+                t = t.left;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Return whether subtree t holds an item that is not a tombstone (false if null).
+     */
+    private static boolean anyLive( AvlNode<?> t ) {
+        return t != null && t.anyLive;
+    }
+
     /**
      * Internal method to find an item in a subtree.
      * @param x is item to search for.
@@ -228,18 +736,386 @@ public class AvlTree<AnyType extends Comparable<? super AnyType>> {
      */
     private boolean contains( AnyType x, AvlNode<AnyType> t ) {
         while (t != null) {
+            if (stats != null) {
+                stats.visit();
+                stats.compare();
+            }
             int compareValue = x.compareTo(t.element);      // Compares the keys of the nodes
             if (compareValue < 0) {                         // Go left if x is smaller
                 t = t.left;
             } else if (compareValue > 0) {                  // Go right if x is bigger
                 t = t.right;
             } else {
-                return true;                                // Node found, return true
+                return !t.deleted;                          // Node found, return true unless it was removed
             }
         }
         return false;                                       // Node not found, return false
     }
 
+    /**
+     * Internal method to answer the sorted keys order[lo..hi) against a subtree.
+     * Keys smaller than t go left, larger ones go right, and equal ones are marked found.
+     * @param keys the items to search for.
+     * @param order indexes into keys, sorted by key.
+     * @param t the node that roots the subtree.
+     * @param found the result bits, indexed like keys.
+     */
+    private void containsBatch( List<? extends AnyType> keys, Integer[] order, int lo, int hi,
+                                AvlNode<AnyType> t, BitSet found ) {
+        if (t == null || lo >= hi) {
+            return;
+        }
+        if (stats != null) {
+            stats.visit();
+        }
+        int low = lowerBound(keys, order, lo, hi, t.element);      // First key >= t.element
+        int high = low;
+        while (high < hi && compareKey(keys.get(order[high]), t.element) == 0) {
+            if (!t.deleted) {
+                found.set(order[high]);                             // Every copy of a matching key
+            }
+            high++;
+        }
+        containsBatch(keys, order, lo, low, t.left, found);         // Smaller keys go left
+        containsBatch(keys, order, high, hi, t.right, found);       // Bigger keys go right
+    }
+
+    /**
+     * Internal method to binary search the sorted keys order[lo..hi) for the first key not less than x.
+     */
+    private int lowerBound( List<? extends AnyType> keys, Integer[] order, int lo, int hi, AnyType x ) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compareKey(keys.get(order[mid]), x) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * Compares two items, counting the comparison when instrumentation is on.
+     */
+    private int compareKey( AnyType a, AnyType b ) {
+        if (stats != null) {
+            stats.compare();
+        }
+        return a.compareTo(b);
+    }
+
+    /**
+     * Returns the indexes of keys sorted by key.
+     */
+    private static <T extends Comparable<? super T>> Integer[] sortedOrder( List<? extends T> keys ) {
+        Integer[] order = new Integer[keys.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> keys.get(a).compareTo(keys.get(b)));
+        return order;
+    }
+
+    /**
+     * Internal method to join two subtrees around a middle node. Every item in l must be smaller
+     * than k.element and every item in r larger. Walks down the spine of the taller tree until the
+     * heights meet, so the cost is O(|height(l) - height(r)| + 1).
+     * @param l the subtree of smaller items.
+     * @param k the node to put between them; its children are overwritten.
+     * @param r the subtree of larger items.
+     * @return the root of the joined, balanced tree.
+     */
+    private AvlNode<AnyType> join( AvlNode<AnyType> l, AvlNode<AnyType> k, AvlNode<AnyType> r ) {
+        if (height(l) > height(r) + ALLOWED_IMBALANCE) {        // Left is taller: descend its right spine
+            l.right = join(l.right, k, r);
+            return balance(l);
+        }
+        if (height(r) > height(l) + ALLOWED_IMBALANCE) {        // Right is taller: descend its left spine
+            r.left = join(l, k, r.left);
+            return balance(r);
+        }
+        k.left = l;                                             // Heights are close enough to hang both here
+        k.right = r;
+        update(k);
+        return k;
+    }
+
+    /**
+     * Internal method to split a subtree around x in O(log n). The results are left in parts:
+     * the items smaller than x, x's own node (null if x was not present) and the items larger
+     * than x. One holder is passed down and filled in on the way back up, so nothing is
+     * allocated per level.
+     * @param x the item to split at.
+     * @param t the node that roots the subtree; its nodes are reused.
+     * @param parts receives the results.
+     */
+    private void split( AnyType x, AvlNode<AnyType> t, Split<AnyType> parts ) {
+        if (t == null) {
+            parts.left = null;
+            parts.node = null;
+            parts.right = null;
+            return;
+        }
+        if (stats != null) {
+            stats.visit();
+        }
+        int compareValue = compareKey(x, t.element);
+        AvlNode<AnyType> left = t.left;
+        AvlNode<AnyType> right = t.right;
+        if (compareValue < 0) {                                 // Split point is in the left subtree
+            split(x, left, parts);
+            parts.right = join(parts.right, t, right);
+        } else if (compareValue > 0) {                          // Split point is in the right subtree
+            split(x, right, parts);
+            parts.left = join(left, t, parts.left);
+        } else {                                                // x itself is dropped
+            parts.left = left;
+            parts.node = t;
+            parts.right = right;
+        }
+    }
+
+    /**
+     * Internal method to merge two subtrees by splitting t2 around the root of t1.
+     * Items present in both trees are kept once, as t2's node, and counted in mergedDuplicates.
+     * @return the root of the union.
+     */
+    private AvlNode<AnyType> union( AvlNode<AnyType> t1, AvlNode<AnyType> t2 ) {
+        if (t1 == null) {
+            return t2;
+        }
+        if (t2 == null) {
+            return t1;
+        }
+        AvlNode<AnyType> left = t1.left;
+        AvlNode<AnyType> right = t1.right;
+        Split<AnyType> parts = new Split<>();
+        split(t1.element, t2, parts);
+        AvlNode<AnyType> middle = t1;
+        if (parts.node != null) {
+            mergedDuplicates++;
+            middle = parts.node;                                // The item already in t2 wins, as with insert
+        }
+        return join(union(left, parts.left), middle, union(right, parts.right));
+    }
+
+    /**
+     * Internal method to keep the items of t1 that are also in t2. Splits t1 around the root of t2
+     * and recurses on both sides, like difference. t2 is only read; the nodes kept are t1's.
+     * @return the root of the intersection.
+     */
+    private AvlNode<AnyType> intersection( AvlNode<AnyType> t1, AvlNode<AnyType> t2 ) {
+        if (t1 == null || t2 == null) {
+            return null;
+        }
+        Split<AnyType> parts = new Split<>();
+        split(t2.element, t1, parts);
+        AvlNode<AnyType> middle = parts.node;
+        AvlNode<AnyType> l = intersection(parts.left, t2.left);
+        AvlNode<AnyType> r = intersection(parts.right, t2.right);
+        return middle != null ? join(l, middle, r) : join(l, r); // Drop t2's root unless it is in both
+    }
+
+    /**
+     * Internal method to remove the items of t2 from t1. Splits t1 around the root of t2,
+     * which drops that item, and recurses on both sides. t2 is only read.
+     * @return the root of the difference.
+     */
+    private AvlNode<AnyType> difference( AvlNode<AnyType> t1, AvlNode<AnyType> t2 ) {
+        if (t1 == null || t2 == null) {
+            return t1;
+        }
+        Split<AnyType> parts = new Split<>();
+        split(t2.element, t1, parts);
+        return join(difference(parts.left, t2.left), difference(parts.right, t2.right));
+    }
+
+    /**
+     * Internal method to join two subtrees with no middle node. Every item in l must be smaller
+     * than every item in r. The largest item of l is detached and used as the middle node.
+     * @return the root of the joined, balanced tree.
+     */
+    private AvlNode<AnyType> join( AvlNode<AnyType> l, AvlNode<AnyType> r ) {
+        if (l == null) {
+            return r;
+        }
+        if (r == null) {
+            return l;
+        }
+        AvlNode<AnyType> max = findMax(l);
+        return join(removeMax(l), max, r);
+    }
+
+    /**
+     * Internal method to unlink the largest node of a non-empty subtree.
+     * @return the new root of the subtree.
+     */
+    private AvlNode<AnyType> removeMax( AvlNode<AnyType> t ) {
+        if (t.right == null) {
+            return t.left;
+        }
+        t.right = removeMax(t.right);
+        return balance(t);
+    }
+
+    /**
+     * Internal method to copy the shape and items of a subtree.
+     * @return the root of the copy.
+     */
+    private AvlNode<AnyType> copy( AvlNode<AnyType> t ) {
+        if (t == null) {
+            return null;
+        }
+        AvlNode<AnyType> c = new AvlNode<>(t.element, copy(t.left), copy(t.right));
+        update(c);                                              // The copy keeps this tree's aggregates
+        return c;
+    }
+
+    /**
+     * Internal method to count the live nodes of a subtree.
+     */
+    private int count( AvlNode<AnyType> t ) {
+        return t == null ? 0 : count(t.left) + count(t.right) + (t.deleted ? 0 : 1);
+    }
+
+    /**
+     * Internal method to write a subtree to a snapshot in pre-order.
+     */
+    private void writeSnapshot( AvlNode<AnyType> t, DataOutput out, TreeCodec<? super AnyType> codec ) throws IOException {
+        if( t == null )
+            return;
+        out.writeByte( ( t.height << 2 ) | ( t.left != null ? HAS_LEFT : 0 ) | ( t.right != null ? HAS_RIGHT : 0 ) );
+        codec.write( t.element, out );
+        writeSnapshot( t.left, out, codec );
+        writeSnapshot( t.right, out, codec );
+    }
+
+    /**
+     * Internal method to read a subtree written by writeSnapshot, counting its nodes
+     * in snapshotNodes and stopping once there are more than count.
+     * @return the root of the subtree.
+     */
+    private AvlNode<AnyType> readSnapshotNode( DataInput in, TreeCodec<? extends AnyType> codec, int count ) throws IOException {
+        if( ++snapshotNodes > count )
+            throw new IOException( "AVL snapshot has more nodes than its item count" );
+        int header = in.readUnsignedByte( );
+        AvlNode<AnyType> t = new AvlNode<>( codec.read( in ) );
+        if( ( header & HAS_LEFT ) != 0 )
+            t.left = readSnapshotNode( in, codec, count );
+        if( ( header & HAS_RIGHT ) != 0 )
+            t.right = readSnapshotNode( in, codec, count );
+        update( t );
+        if( t.height != header >>> 2
+                || Math.abs( height( t.left ) - height( t.right ) ) > ALLOWED_IMBALANCE )
+            throw new IOException( "AVL snapshot has an inconsistent height" );
+        return t;
+    }
+
+    /**
+     * Internal method to build a perfectly balanced subtree from sorted, distinct items[lo..hi).
+     * @return the root of the new subtree.
+     */
+    private AvlNode<AnyType> buildTree( List<AnyType> items, int lo, int hi ) {
+        if (lo >= hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        AvlNode<AnyType> t = new AvlNode<>(items.get(mid));
+        t.left = buildTree(items, lo, mid);
+        t.right = buildTree(items, mid + 1, hi);
+        update(t);
+        return t;
+    }
+
+    /**
+     * Internal method to list the live nodes of a subtree in order.
+     */
+    private void collectLive( AvlNode<AnyType> t, List<AvlNode<AnyType>> live ) {
+        if (t == null) {
+            return;
+        }
+        collectLive(t.left, live);
+        if (!t.deleted) {
+            live.add(t);
+        }
+        collectLive(t.right, live);
+    }
+
+    /**
+     * Internal method to link the sorted nodes[lo..hi) into a perfectly balanced subtree.
+     * @return the root of the subtree.
+     */
+    private AvlNode<AnyType> relink( List<AvlNode<AnyType>> nodes, int lo, int hi ) {
+        if (lo >= hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        AvlNode<AnyType> t = nodes.get(mid);
+        t.left = relink(nodes, lo, mid);
+        t.right = relink(nodes, mid + 1, hi);
+        update(t);
+        return t;
+    }
+
+    /**
+     * Returns the tree contents as a sorted list.
+     */
+    private List<AnyType> toSortedList( ) {
+        List<AnyType> items = new ArrayList<>(size());
+        toSortedList(root, items);
+        return items;
+    }
+
+    private void toSortedList( AvlNode<AnyType> t, List<AnyType> items ) {
+        if (t == null) {
+            return;
+        }
+        toSortedList(t.left, items);
+        if (!t.deleted) {
+            items.add(t.element);
+        }
+        toSortedList(t.right, items);
+    }
+
+    /**
+     * Returns the items sorted with duplicates removed.
+     */
+    private List<AnyType> sortedDistinct( Collection<? extends AnyType> items ) {
+        List<AnyType> sorted = new ArrayList<>(items);
+        sorted.sort(null);
+        List<AnyType> distinct = new ArrayList<>(sorted.size());
+        for (AnyType x : sorted) {
+            if (distinct.isEmpty() || compareKey(distinct.get(distinct.size() - 1), x) != 0) {
+                distinct.add(x);
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * Merges two sorted, distinct lists into one, keeping a single copy of items found in both.
+     */
+    private List<AnyType> mergeSorted( List<AnyType> a, List<AnyType> b ) {
+        List<AnyType> merged = new ArrayList<>(a.size() + b.size());
+        int i = 0;
+        int j = 0;
+        while (i < a.size() && j < b.size()) {
+            int compareValue = compareKey(a.get(i), b.get(j));
+            if (compareValue < 0) {
+                merged.add(a.get(i++));
+            } else if (compareValue > 0) {
+                merged.add(b.get(j++));
+            } else {
+                merged.add(a.get(i++));
+                j++;
+            }
+        }
+        merged.addAll(a.subList(i, a.size()));
+        merged.addAll(b.subList(j, b.size()));
+        return merged;
+    }
+
     /**
      * Internal method to print a subtree in (sorted) order.
      * @param t the node that roots the tree.
@@ -249,10 +1125,161 @@ public class AvlTree<AnyType extends Comparable<? super AnyType>> {
             return;
         }
         printTree(t.left);
-        System.out.println(t.element);                    // In order print of tree
+        if (!t.deleted) {
+            System.out.println(t.element);                // In order print of tree
+        }
         printTree(t.right);
     }
 
+    /**
+     * Recompute the height, live flag and aggregate values of node t from its children.
+     */
+    private void update( AvlNode<AnyType> t ) {
+        t.height = (byte) ( Math.max( height( t.left ), height( t.right ) ) + 1 );
+        t.anyLive = !t.deleted || anyLive( t.left ) || anyLive( t.right );
+        if( aggregates == null )
+            return;
+        if( t.summaries == null || t.summaries.length != aggregates.length )
+            t.summaries = new Object[ aggregates.length ];
+        for( int i = 0; i < aggregates.length; i++ )
+            t.summaries[ i ] = summarize( aggregates[ i ], i, t );
+    }
+
+    /**
+     * Internal method to combine one aggregate over node t and its children's subtrees.
+     */
+    private <V> V summarize( Aggregate<? super AnyType, V> aggregate, int i, AvlNode<AnyType> t ) {
+        V value = own( aggregate, t );
+        if( t.left != null )
+            value = aggregate.combine( summary( aggregate, i, t.left ), value );
+        if( t.right != null )
+            value = aggregate.combine( value, summary( aggregate, i, t.right ) );
+        return value;
+    }
+
+    /**
+     * Return the value of node t's own item, or the identity, if it is a tombstone.
+     */
+    private <V> V own( Aggregate<? super AnyType, V> aggregate, AvlNode<AnyType> t ) {
+        return t.deleted ? aggregate.identity( ) : aggregate.of( t.element );
+    }
+
+    /**
+     * Return the stored value of aggregate i for the subtree t, or the identity, if null.
+     */
+    @SuppressWarnings( "unchecked" )
+    private <V> V summary( Aggregate<? super AnyType, V> aggregate, int i, AvlNode<AnyType> t ) {
+        return t == null ? aggregate.identity( ) : (V) t.summaries[ i ];
+    }
+
+    /**
+     * Internal method to combine aggregate i over the items of a subtree from lo to hi, inclusive.
+     * Once the range splits at a node, each side only follows one path down, taking whole
+     * subtrees' stored values along the way.
+     */
+    private <V> V aggregate( Aggregate<? super AnyType, V> aggregate, int i, AvlNode<AnyType> t, AnyType lo, AnyType hi ) {
+        while( t != null ) {
+            if( lo.compareTo( t.element ) > 0 )                      // Range is right of t
+                t = t.right;
+            else if( hi.compareTo( t.element ) < 0 )                 // Range is left of t
+                t = t.left;
+            else {                                                   // t is in range: split here
+                V value = aggregate.combine( atLeast( aggregate, i, t.left, lo ), own( aggregate, t ) );
+                return aggregate.combine( value, atMost( aggregate, i, t.right, hi ) );
+            }
+        }
+        return aggregate.identity( );
+    }
+
+    /**
+     * Internal method to combine aggregate i over the items of a subtree not smaller than lo.
+     */
+    private <V> V atLeast( Aggregate<? super AnyType, V> aggregate, int i, AvlNode<AnyType> t, AnyType lo ) {
+        V value = aggregate.identity( );
+        while( t != null ) {
+            if( lo.compareTo( t.element ) > 0 )
+                t = t.right;
+            else {                                                   // t and its right subtree are in range
+                V right = aggregate.combine( own( aggregate, t ), summary( aggregate, i, t.right ) );
+                value = aggregate.combine( right, value );
+                t = t.left;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Internal method to combine aggregate i over the items of a subtree not larger than hi.
+     */
+    private <V> V atMost( Aggregate<? super AnyType, V> aggregate, int i, AvlNode<AnyType> t, AnyType hi ) {
+        V value = aggregate.identity( );
+        while( t != null ) {
+            if( hi.compareTo( t.element ) < 0 )
+                t = t.left;
+            else {                                                   // t and its left subtree are in range
+                V left = aggregate.combine( summary( aggregate, i, t.left ), own( aggregate, t ) );
+                value = aggregate.combine( value, left );
+                t = t.right;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Internal method to collect the items of a subtree from lo to hi that pass a test on
+     * aggregate i, in order, pruning subtrees whose stored value fails it. A null bound means
+     * the subtree is already known to be inside it: a bound is dropped as soon as the walk
+     * leaves its path, so only the two boundary paths compare items and every other node
+     * visited costs O(1).
+     */
+    private <V> void findAll( Aggregate<? super AnyType, V> aggregate, int i, Predicate<? super V> test,
+                              AvlNode<AnyType> t, AnyType lo, AnyType hi, List<AnyType> found ) {
+        if( t == null || !test.test( summary( aggregate, i, t ) ) )   // Nothing in this subtree passes
+            return;
+        boolean aboveLo = lo == null || lo.compareTo( t.element ) <= 0;
+        boolean belowHi = hi == null || hi.compareTo( t.element ) >= 0;
+        if( aboveLo )                                                  // Left items are below t, so below hi too
+            findAll( aggregate, i, test, t.left, lo, belowHi ? null : hi, found );
+        if( aboveLo && belowHi && !t.deleted && test.test( aggregate.of( t.element ) ) )
+            found.add( t.element );
+        if( belowHi )                                                  // Right items are above t, so above lo too
+            findAll( aggregate, i, test, t.right, aboveLo ? null : lo, hi, found );
+    }
+
+    /**
+     * Return the position of an aggregate kept by this tree, or -1, if it is not kept.
+     */
+    private int indexOf( Aggregate<?, ?> aggregate ) {
+        for( int i = 0; aggregates != null && i < aggregates.length; i++ )
+            if( aggregates[ i ] == aggregate )
+                return i;
+        return -1;
+    }
+
+    private int checkedIndexOf( Aggregate<?, ?> aggregate ) {
+        int i = indexOf( aggregate );
+        if( i < 0 )
+            throw new IllegalArgumentException( "the tree does not keep this aggregate; call addAggregate first" );
+        return i;
+    }
+
+    /**
+     * Switch the tree to a new set of aggregates and summarize every node again, in O(n).
+     */
+    private void setAggregates( Aggregate<? super AnyType, ?>[ ] kept ) {
+        aggregates = kept;
+        resummarize( root );
+    }
+
+    private void resummarize( AvlNode<AnyType> t ) {
+        if( t == null )
+            return;
+        resummarize( t.left );
+        resummarize( t.right );
+        t.summaries = null;
+        update( t );
+    }
+
     /**
      * Return the height of node t, or -1, if null.
      */
@@ -263,28 +1290,34 @@ public class AvlTree<AnyType extends Comparable<? super AnyType>> {
     /**
      * Rotate binary tree node with left child.
      * For AVL trees, this is a single rotation for case 1.
-     * Update heights, then return new root.
+     * Update heights and aggregates, then return new root.
      */
     private AvlNode<AnyType> rotateWithLeftChild( AvlNode<AnyType> k2 ) {
         AvlNode<AnyType> k1 = k2.left;
         k2.left = k1.right;
         k1.right = k2;
-        k2.height = Math.max(height( k2.left ),height( k2.right )) + 1;
-        k1.height = Math.max(height( k1.left ),k2.height) + 1;
+        update(k2);
+        update(k1);
+        if (stats != null) {
+            stats.rotate(TreeStats.Rotation.WITH_LEFT_CHILD);
+        }
         return k1;
     }
 
     /**
      * Rotate binary tree node with right child.
      * For AVL trees, this is a single rotation for case 4.
-     * Update heights, then return new root.
+     * Update heights and aggregates, then return new root.
      */
     private AvlNode<AnyType> rotateWithRightChild( AvlNode<AnyType> k1 ) {
         AvlNode<AnyType> k2 = k1.right;
         k1.right = k2.left;
         k2.left = k1;
-        k1.height = Math.max(height(k1.left), height(k1.right)) + 1;
-        k2.height = Math.max(k1.height, height(k2.right)) + 1;
+        update(k1);
+        update(k2);
+        if (stats != null) {
+            stats.rotate(TreeStats.Rotation.WITH_RIGHT_CHILD);
+        }
         return k2;
     }
 
@@ -295,6 +1328,9 @@ public class AvlTree<AnyType extends Comparable<? super AnyType>> {
      * Update heights, then return new root.
      */
     private AvlNode<AnyType> doubleWithLeftChild( AvlNode<AnyType> k3 ) {
+        if (stats != null) {
+            stats.rotate(TreeStats.Rotation.DOUBLE_WITH_LEFT_CHILD);
+        }
 	    k3.left = rotateWithRightChild( k3.left );              // Initial rotation with right child of left subtree
         return rotateWithLeftChild( k3 );                       // Second rotation with left child
     }
@@ -306,6 +1342,9 @@ public class AvlTree<AnyType extends Comparable<? super AnyType>> {
      * Update heights, then return new root.
      */
     private AvlNode<AnyType> doubleWithRightChild( AvlNode<AnyType> k1 ) {
+        if (stats != null) {
+            stats.rotate(TreeStats.Rotation.DOUBLE_WITH_RIGHT_CHILD);
+        }
 	    k1.right = rotateWithLeftChild( k1.right );            // Initial rotation with left child of right subtree
         return rotateWithRightChild( k1 );                     // Second rotation with right child
     }
@@ -326,9 +1365,40 @@ public class AvlTree<AnyType extends Comparable<? super AnyType>> {
         AnyType           element;      // The data in the node
         AvlNode<AnyType>  left;         // Left child
         AvlNode<AnyType>  right;        // Right child
-        int               height;       // Height
+        byte              height;       // Height (an AVL tree 128 high would need over 2^88 nodes)
+        boolean           deleted;      // Lazily removed: skipped by queries until purged or revived
+        boolean           anyLive;      // Some item of the subtree is not deleted, so findMin can skip the rest
+        Object[ ]         summaries;    // Aggregate values of the subtree, one per kept aggregate (null if none)
+    }
+
+    // The results of an internal split, local to one split so splits never share state
+    private static class Split<AnyType> {
+        AvlNode<AnyType>  left;         // Items smaller than the split point
+        AvlNode<AnyType>  node;         // The node holding the split point (null if not present)
+        AvlNode<AnyType>  right;        // Items larger than the split point
     }
 
     /** The tree root. */
     private AvlNode<AnyType> root;
+
+    /** Number of items in the tree; -1 until recounted after a split or set operation. */
+    private int size;
+
+    /** Items dropped as duplicates by the last union. */
+    private int mergedDuplicates;
+
+    /** Nodes read so far by the current readSnapshot. */
+    private int snapshotNodes;
+
+    /** Lazily removed nodes still in the tree. */
+    private int tombstones;
+
+    /** Share of nodes that may be tombstones before a purge; 0 when removal is eager. */
+    private double compactRatio;
+
+    /** Aggregates kept in every node, in the order of each node's summaries; null when none are kept. */
+    private Aggregate<? super AnyType, ?>[ ] aggregates;
+
+    /** Instrumentation counters; null when instrumentation is off. */
+    private TreeStats stats;
 }
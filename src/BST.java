@@ -5,13 +5,25 @@
  * @author: Chris Cha {@literal <chah22@wfu.edu>}
  * @date: September 17, 2025
  */
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Stack;
 
 public class BST<E extends Comparable<? super E>> implements Iterable<E> {
     private Node<E> root;
     private int size = 0;
+    private TreeStats stats;    // instrumentation counters (null when off)
+
+    private static final int SNAPSHOT_MAGIC = 0x42535453;  // "BSTS"
+    private static final int HAS_LEFT = 1;                  // snapshot node flags
+    private static final int HAS_RIGHT = 2;
 
     /* constructs an empty binary search tree */
     BST() {
@@ -31,17 +43,27 @@ public class BST<E extends Comparable<? super E>> implements Iterable<E> {
      * @param element the element that the new inserted node will have.
      */
     public void insert(E element) {
+        if (stats != null) {
+            stats.begin(TreeStats.Op.INSERT);
+        }
         Node<E> current = root;
         if (root == null) {
             root = new Node<>(element);
             size++;
         }
         else {
-            if (search(element) != null) {
+            if (find(element) != null) {
+                if (stats != null) {
+                    stats.end();
+                }
                 return;
             }
             boolean isPlaced = false;
             while (!isPlaced) {
+                if (stats != null) {
+                    stats.visit();
+                    stats.compare();
+                }
                 if (element.compareTo(current.getElement()) < 0) {
                     if (current.getLeft() == null) {
                         current.setLeft(new Node<>(element));
@@ -50,19 +72,27 @@ public class BST<E extends Comparable<? super E>> implements Iterable<E> {
                     }
                     current = current.getLeft();
                 }
-                else if (element.compareTo(current.getElement()) > 0) {
-                    if (current.getRight() == null) {
-                        current.setRight(new Node<>(element));
-                        size++;
+                else {
+                    if (stats != null) {
+                        stats.compare();
+                    }
+                    if (element.compareTo(current.getElement()) > 0) {
+                        if (current.getRight() == null) {
+                            current.setRight(new Node<>(element));
+                            size++;
+                            isPlaced = true;
+                        }
+                        current = current.getRight();
+                    }
+                    else {
                         isPlaced = true;
                     }
-                    current = current.getRight();
-                }
-                else {
-                    isPlaced = true;
                 }
             }
         }
+        if (stats != null) {
+            stats.end();
+        }
     }
 
     /**
@@ -72,19 +102,113 @@ public class BST<E extends Comparable<? super E>> implements Iterable<E> {
      * @return The node containing the given element (null if it does not exist).
      */
     public Node<E> search(E element) {
+        if (stats == null) {
+            return find(element);
+        }
+        stats.begin(TreeStats.Op.SEARCH);
+        Node<E> found = find(element);
+        stats.end();
+        return found;
+    }
+
+    /**
+     * Searches for many elements in one coordinated traversal. The elements are sorted and pushed down the tree
+     * together, so each node is visited at most once per batch instead of once per element. Uses an explicit stack
+     * so degenerate (list-like) trees do not overflow the call stack.
+     *
+     * @param elements the elements to search for; duplicates are allowed.
+     * @return a bit set where bit i is set if elements.get(i) is in the tree.
+     */
+    public BitSet searchBatch(List<? extends E> elements) {
+        BitSet found = new BitSet(elements.size());
+        if (stats != null) {
+            stats.begin(TreeStats.Op.SEARCH);
+        }
+        Integer[] order = new Integer[elements.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> elements.get(a).compareTo(elements.get(b)));
+
+        ArrayDeque<Node<E>> nodes = new ArrayDeque<>();
+        ArrayDeque<int[]> ranges = new ArrayDeque<>();          // order[lo..hi) still to answer under each node
+        if (root != null && order.length > 0) {
+            nodes.push(root);
+            ranges.push(new int[] {0, order.length});
+        }
+        while (!nodes.isEmpty()) {
+            Node<E> current = nodes.pop();
+            int[] range = ranges.pop();
+            if (stats != null) {
+                stats.visit();
+            }
+            E element = current.getElement();
+
+            int lo = range[0];
+            int hi = range[1];
+            while (lo < hi) {                                   // first element >= current
+                int mid = (lo + hi) >>> 1;
+                if (stats != null) {
+                    stats.compare();
+                }
+                if (elements.get(order[mid]).compareTo(element) < 0) {
+                    lo = mid + 1;
+                }
+                else {
+                    hi = mid;
+                }
+            }
+            int high = lo;
+            while (high < range[1]) {                          // elements equal to current
+                if (stats != null) {
+                    stats.compare();
+                }
+                if (elements.get(order[high]).compareTo(element) != 0) {
+                    break;
+                }
+                found.set(order[high]);
+                high++;
+            }
+
+            if (current.hasLeft() && range[0] < lo) {
+                nodes.push(current.getLeft());
+                ranges.push(new int[] {range[0], lo});
+            }
+            if (current.hasRight() && high < range[1]) {
+                nodes.push(current.getRight());
+                ranges.push(new int[] {high, range[1]});
+            }
+        }
+        if (stats != null) {
+            stats.end();
+        }
+        return found;
+    }
+
+    /* walks down from the root to the node holding the given element (null if it does not exist) */
+    private Node<E> find(E element) {
         if (root == null) {
             return null;
         }
         Node<E> current = root;
         while (current != null) {
+            if (stats != null) {
+                stats.visit();
+                stats.compare();
+            }
             if (element.compareTo(current.getElement()) < 0) {
                 current = current.getLeft();
             }
-            else if (element.compareTo(current.getElement()) > 0) {
-                current = current.getRight();
-            }
             else {
-                return current;
+                if (stats != null) {
+                    stats.compare();
+                }
+                if (element.compareTo(current.getElement()) > 0) {
+                    current = current.getRight();
+                }
+                else {
+                    return current;
+                }
             }
         }
         return null;
@@ -97,54 +221,197 @@ public class BST<E extends Comparable<? super E>> implements Iterable<E> {
      * @return the removed node (null if it does not exist)
      */
     public Node<E> remove(E element) {
+        if (stats != null) {
+            stats.begin(TreeStats.Op.REMOVE);
+        }
         Node<E> parent = null;
         Node<E> current = root;
             while (current != null) {
+                if (stats != null) {
+                    stats.visit();
+                    stats.compare();
+                }
                 if (element.compareTo(current.getElement()) < 0) {
                     parent = current;
                     current = current.getLeft();
+                    continue;
                 }
-                else if (element.compareTo(current.getElement()) > 0) {
+                if (stats != null) {
+                    stats.compare();
+                }
+                if (element.compareTo(current.getElement()) > 0) {
                     parent = current;
                     current = current.getRight();
+                    continue;
                 }
-                else {
-                    if (current.getLeft() != null && current.getRight() != null) {
-                        Node<E> successorParent = current;
-                        Node<E> successor = current.getRight();
-                        while (successor.getLeft() != null) {
-                            successorParent = successor;
-                            successor = successor.getLeft();
+                if (current.getLeft() != null && current.getRight() != null) {
+                    Node<E> successorParent = current;
+                    Node<E> successor = current.getRight();
+                    if (stats != null) {
+                        stats.visit();
+                    }
+                    while (successor.getLeft() != null) {
+                        successorParent = successor;
+                        successor = successor.getLeft();
+                        if (stats != null) {
+                            stats.visit();                      // the successor walk visits without comparing
                         }
-                        current.setElement(successor.getElement());
-                        parent = successorParent;
-                        current = successor;
                     }
+                    current.setElement(successor.getElement());
+                    parent = successorParent;
+                    current = successor;
+                }
 
-                    Node<E> child = null;
-                    if (current.getLeft() != null) {
-                        child = current.getLeft();
-                    }
-                    else if (current.getRight() != null) {
-                        child = current.getRight();
-                    }
+                Node<E> child = null;
+                if (current.getLeft() != null) {
+                    child = current.getLeft();
+                }
+                else if (current.getRight() != null) {
+                    child = current.getRight();
+                }
 
-                    if (parent == null) {
-                        root = child;
-                    }
-                    else if (parent.getLeft() == current) {
-                        parent.setLeft(child);
-                    }
-                    else {
-                        parent.setRight(child);
-                    }
-                    size--;
-                    return current;
+                if (parent == null) {
+                    root = child;
                 }
+                else if (parent.getLeft() == current) {
+                    parent.setLeft(child);
+                }
+                else {
+                    parent.setRight(child);
+                }
+                size--;
+                if (stats != null) {
+                    stats.end();
+                }
+                return current;
             }
+        if (stats != null) {
+            stats.end();
+        }
         return null;
     }
 
+    /**
+     * Computes the height of the tree level by level (no recursion, so degenerate trees are safe)
+     *
+     * @return the height of the tree (-1 if empty)
+     */
+    public int height() {
+        int height = -1;
+        ArrayDeque<Node<E>> level = new ArrayDeque<>();
+        if (root != null) {
+            level.add(root);
+        }
+        while (!level.isEmpty()) {
+            height++;
+            for (int i = level.size(); i > 0; i--) {
+                Node<E> node = level.poll();
+                if (node.hasLeft()) {
+                    level.add(node.getLeft());
+                }
+                if (node.hasRight()) {
+                    level.add(node.getRight());
+                }
+            }
+        }
+        return height;
+    }
+
+    /**
+     * Writes the tree to a binary snapshot: the node count, then every node in pre-order as a flags byte (which
+     * children it has) followed by its element. The exact shape is kept, so reading it back needs no comparisons.
+     *
+     * @param out the stream to write to.
+     * @param codec writes each element.
+     */
+    public void writeSnapshot(DataOutput out, TreeCodec<? super E> codec) throws IOException {
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(size);
+        Stack<Node<E>> stack = new Stack<>();
+        if (root != null) {
+            stack.push(root);
+        }
+        while (!stack.isEmpty()) {
+            Node<E> node = stack.pop();
+            out.writeByte((node.hasLeft() ? HAS_LEFT : 0) | (node.hasRight() ? HAS_RIGHT : 0));
+            codec.write(node.getElement(), out);
+            if (node.hasRight()) {
+                stack.push(node.getRight());
+            }
+            if (node.hasLeft()) {
+                stack.push(node.getLeft());
+            }
+        }
+    }
+
+    /**
+     * Replaces the contents of the tree with a snapshot written by writeSnapshot, in O(n) with no comparisons
+     * (no recursion either, so degenerate trees are safe)
+     *
+     * @param in the stream to read from.
+     * @param codec reads each element.
+     * @throws IOException if the stream is not a BST snapshot, its node count does not match the shape, or it ends early.
+     */
+    public void readSnapshot(DataInput in, TreeCodec<? extends E> codec) throws IOException {
+        if (in.readInt() != SNAPSHOT_MAGIC) {
+            throw new IOException("not a BST snapshot");
+        }
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("BST snapshot has a negative node count");
+        }
+        Node<E> newRoot = null;
+        Stack<Node<E>> needRight = new Stack<>();       // nodes whose right child comes after their left subtree
+        Node<E> current = null;
+        int flags = 0;
+        for (int i = 0; i < count; i++) {
+            int nextFlags = in.readUnsignedByte();
+            Node<E> node = new Node<>(codec.read(in));
+            if (current == null) {
+                newRoot = node;
+            }
+            else if ((flags & HAS_LEFT) != 0) {
+                current.setLeft(node);
+                if ((flags & HAS_RIGHT) != 0) {
+                    needRight.push(current);
+                }
+            }
+            else if ((flags & HAS_RIGHT) != 0) {
+                current.setRight(node);
+            }
+            else if (!needRight.isEmpty()) {
+                needRight.pop().setRight(node);
+            }
+            else {
+                throw new IOException("BST snapshot has more nodes than its shape allows (wrong node count?)");
+            }
+            current = node;
+            flags = nextFlags;
+        }
+        if (flags != 0 || !needRight.isEmpty()) {
+            throw new IOException("BST snapshot has fewer nodes than its shape needs (wrong node count?)");
+        }
+        root = newRoot;
+        size = count;
+    }
+
+    /**
+     * Attaches instrumentation counters to the tree, or detaches them with null
+     *
+     * @param stats the counters to update on every operation.
+     */
+    public void setStats(TreeStats stats) {
+        this.stats = stats;
+        if (stats != null) {
+            stats.attach(this::height, false);        // a level-order walk
+        }
+    }
+
+    /* returns the attached instrumentation counters (null if none) */
+    public TreeStats getStats() {
+        return stats;
+    }
+
     /**
      * Iterator that traverses in (in-order) order
      *
@@ -0,0 +1,79 @@
+/**
+ * @file: BatchInsertBench.java
+ * @description: Compares AvlTree.insertAll with a loop of single inserts when merging batches of new keys into an
+ * existing tree of N keys. Reports the amortized nanoseconds per inserted key for several batch sizes.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class BatchInsertBench {
+    public static void main(String[] args) {
+        // Usage: java BatchInsertBench [N] [seed]
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+        Random random = new Random(seed);
+
+        List<Integer> base = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            base.add(random.nextInt());
+        }
+
+        System.out.println("===========Batch Insert Benchmark===========");
+        System.out.printf("N: %d, seed: %d\n", n, seed);
+        /* The whole sweep runs twice; the first pass only warms up the JIT */
+        for (int pass = 0; pass < 2; pass++) {
+            if (pass == 1) {
+                System.out.println("batch,batches,loopNanosPerKey,insertAllNanosPerKey");
+            }
+            for (int batchSize = 100; batchSize <= 4 * n; batchSize *= 4) {
+                /* Small batches are repeated so each measurement covers at least ~n keys */
+                int batches = Math.max(1, n / batchSize);
+                List<List<Integer>> work = new ArrayList<>(batches);
+                for (int b = 0; b < batches; b++) {
+                    List<Integer> batch = new ArrayList<>(batchSize);
+                    for (int i = 0; i < batchSize; i++) {
+                        batch.add(random.nextInt());
+                    }
+                    work.add(batch);
+                }
+
+                AvlTree<Integer> looped = build(base);
+                long start = System.nanoTime();
+                for (List<Integer> batch : work) {
+                    for (Integer key : batch) {
+                        looped.insert(key);
+                    }
+                }
+                long loopTime = System.nanoTime() - start;
+
+                AvlTree<Integer> merged = build(base);
+                start = System.nanoTime();
+                for (List<Integer> batch : work) {
+                    merged.insertAll(batch);
+                }
+                long mergeTime = System.nanoTime() - start;
+
+                if (merged.size() != looped.size()) {
+                    System.out.println("Size mismatch!");
+                }
+                long keys = (long) batches * batchSize;
+                if (pass == 1) {
+                    System.out.printf("%d,%d,%.1f,%.1f\n", batchSize, batches,
+                            (double) loopTime / keys, (double) mergeTime / keys);
+                }
+            }
+        }
+    }
+
+    /* builds a tree holding the base keys */
+    private static AvlTree<Integer> build(List<Integer> keys) {
+        AvlTree<Integer> t = new AvlTree<>();
+        for (Integer key : keys) {
+            t.insert(key);
+        }
+        return t;
+    }
+}
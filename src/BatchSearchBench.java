@@ -0,0 +1,104 @@
+/**
+ * @file: BatchSearchBench.java
+ * @description: Compares one-at-a-time lookups with the batched lookups (AvlTree.containsBatch and BST.searchBatch)
+ * for growing batch sizes. Reports nodes visited per key, from TreeStats, and lookups per second.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class BatchSearchBench {
+    public static void main(String[] args) {
+        // Usage: java BatchSearchBench [N] [seed]
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+        Random random = new Random(seed);
+
+        /* Even keys are in the trees, so about half the lookups hit */
+        List<Integer> inserts = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            inserts.add(2 * i);
+        }
+        Collections.shuffle(inserts, random);
+        AvlTree<Integer> avl = new AvlTree<>();
+        BST<Integer> bst = new BST<>();
+        for (Integer key : inserts) {
+            avl.insert(key);
+            bst.insert(key);
+        }
+        TreeStats avlStats = new TreeStats();
+        TreeStats bstStats = new TreeStats();
+        avl.setStats(avlStats);
+        bst.setStats(bstStats);
+
+        System.out.println("===========Batched Lookup Benchmark===========");
+        System.out.printf("N: %d, seed: %d\n", n, seed);
+        System.out.println("tree,batch,singleVisitsPerKey,batchVisitsPerKey,singleKeysPerSecond,batchKeysPerSecond");
+        for (int batchSize = 1_000; batchSize <= 4 * n; batchSize *= 4) {
+            List<Integer> keys = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize; i++) {
+                keys.add(random.nextInt(2 * n));
+            }
+
+            for (int round = 0; round < 2; round++) {           // first round warms up the JIT
+                avlStats.reset();
+                long start = System.nanoTime();
+                int hits = 0;
+                for (Integer key : keys) {
+                    if (avl.contains(key)) {
+                        hits++;
+                    }
+                }
+                long singleTime = System.nanoTime() - start;
+                long singleVisits = avlStats.getNodesVisited(TreeStats.Op.SEARCH);
+
+                avlStats.reset();
+                start = System.nanoTime();
+                BitSet found = avl.containsBatch(keys);
+                long batchTime = System.nanoTime() - start;
+                long batchVisits = avlStats.getNodesVisited(TreeStats.Op.SEARCH);
+                if (found.cardinality() != hits) {
+                    System.out.println("Batch result mismatch!");
+                }
+                if (round == 1) {
+                    print("AVL", batchSize, singleVisits, batchVisits, singleTime, batchTime);
+                }
+
+                bstStats.reset();
+                start = System.nanoTime();
+                hits = 0;
+                for (Integer key : keys) {
+                    if (bst.search(key) != null) {
+                        hits++;
+                    }
+                }
+                singleTime = System.nanoTime() - start;
+                singleVisits = bstStats.getNodesVisited(TreeStats.Op.SEARCH);
+
+                bstStats.reset();
+                start = System.nanoTime();
+                found = bst.searchBatch(keys);
+                batchTime = System.nanoTime() - start;
+                batchVisits = bstStats.getNodesVisited(TreeStats.Op.SEARCH);
+                if (found.cardinality() != hits) {
+                    System.out.println("Batch result mismatch!");
+                }
+                if (round == 1) {
+                    print("BST", batchSize, singleVisits, batchVisits, singleTime, batchTime);
+                }
+            }
+        }
+    }
+
+    /* prints one CSV row of results */
+    private static void print(String tree, int batchSize, long singleVisits, long batchVisits,
+                              long singleTime, long batchTime) {
+        System.out.printf("%s,%d,%.2f,%.2f,%.0f,%.0f\n", tree, batchSize,
+                (double) singleVisits / batchSize, (double) batchVisits / batchSize,
+                batchSize / (singleTime / 1_000_000_000.0), batchSize / (batchTime / 1_000_000_000.0));
+    }
+}
@@ -0,0 +1,270 @@
+/**
+ * @file: BstMap.java
+ * @description: This class defines a sorted map on an (unbalanced) binary search tree. Each node holds its key and
+ * value directly and is itself the Map.Entry handed out by the in-order iterator, so there are no separate key
+ * objects or wrapper entries.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Stack;
+import java.util.function.Function;
+
+public class BstMap<K extends Comparable<? super K>, V> implements Iterable<Map.Entry<K, V>> {
+    private Entry<K, V> root;
+    private int size = 0;
+
+    /* constructs an empty map */
+    BstMap() {
+        root = null;
+        size = 0;
+    }
+
+    /* clears the map */
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    /* returns the number of keys in the map */
+    public int size() {
+        return size;
+    }
+
+    /* checks whether the map is empty */
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Finds the value stored for a key
+     *
+     * @param key the key to search for.
+     * @return the value (null if the key does not exist).
+     */
+    public V get(K key) {
+        Entry<K, V> entry = find(key);
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * Checks whether a key exists in the map
+     *
+     * @param key the key to search for.
+     * @return true if the key exists.
+     */
+    public boolean containsKey(K key) {
+        return find(key) != null;
+    }
+
+    /**
+     * Stores a value for a key, replacing any previous value
+     *
+     * @param key the key.
+     * @param value the value to store.
+     * @return the previous value (null if the key did not exist).
+     */
+    public V put(K key, V value) {
+        if (root == null) {
+            root = new Entry<>(key, value);
+            size++;
+            return null;
+        }
+        Entry<K, V> current = root;
+        while (true) {
+            int c = key.compareTo(current.key);
+            if (c < 0) {
+                if (current.left == null) {
+                    current.left = new Entry<>(key, value);
+                    size++;
+                    return null;
+                }
+                current = current.left;
+            }
+            else if (c > 0) {
+                if (current.right == null) {
+                    current.right = new Entry<>(key, value);
+                    size++;
+                    return null;
+                }
+                current = current.right;
+            }
+            else {
+                return current.setValue(value);
+            }
+        }
+    }
+
+    /**
+     * Returns the value for a key, computing and storing it first if the key does not exist
+     *
+     * @param key the key.
+     * @param mapping computes the value for a missing key; a null result stores nothing.
+     * @return the existing or computed value.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mapping) {
+        Entry<K, V> entry = find(key);
+        if (entry != null) {
+            return entry.value;
+        }
+        V value = mapping.apply(key);
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Removes a key from the map
+     *
+     * @param key the key that should be removed.
+     * @return the removed value (null if the key did not exist)
+     */
+    public V remove(K key) {
+        Entry<K, V> parent = null;
+        Entry<K, V> current = root;
+        while (current != null) {
+            int c = key.compareTo(current.key);
+            if (c < 0) {
+                parent = current;
+                current = current.left;
+            }
+            else if (c > 0) {
+                parent = current;
+                current = current.right;
+            }
+            else {
+                V removed = current.value;
+                if (current.left != null && current.right != null) {
+                    Entry<K, V> successorParent = current;
+                    Entry<K, V> successor = current.right;
+                    while (successor.left != null) {
+                        successorParent = successor;
+                        successor = successor.left;
+                    }
+                    current.key = successor.key;
+                    current.value = successor.value;
+                    parent = successorParent;
+                    current = successor;
+                }
+
+                Entry<K, V> child = (current.left != null) ? current.left : current.right;
+                if (parent == null) {
+                    root = child;
+                }
+                else if (parent.left == current) {
+                    parent.left = child;
+                }
+                else {
+                    parent.right = child;
+                }
+                size--;
+                return removed;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Iterator that visits the entries in key (in-order) order. Entries are the tree nodes themselves, so setValue
+     * writes through to the map.
+     *
+     * @return An iterator that visits each entry in in-order
+     */
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new Iterator<Map.Entry<K, V>>() {
+            private final Stack<Entry<K, V>> stack = new Stack<>();
+            private Entry<K, V> current = root;
+
+            @Override
+            public boolean hasNext() {
+                return (current != null || !stack.isEmpty());
+            }
+
+            @Override
+            public Map.Entry<K, V> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                while (current != null) {
+                    stack.push(current);
+                    current = current.left;
+                }
+
+                Entry<K, V> output = stack.pop();
+                current = output.right;
+                return output;
+            }
+        };
+    }
+
+    /* walks down from the root to the entry for the given key (null if it does not exist) */
+    private Entry<K, V> find(K key) {
+        Entry<K, V> current = root;
+        while (current != null) {
+            int c = key.compareTo(current.key);
+            if (c < 0) {
+                current = current.left;
+            }
+            else if (c > 0) {
+                current = current.right;
+            }
+            else {
+                return current;
+            }
+        }
+        return null;
+    }
+
+    /* tree node that doubles as the map entry */
+    private static class Entry<K, V> implements Map.Entry<K, V> {
+        private K key;
+        private V value;
+        private Entry<K, V> left;
+        private Entry<K, V> right;
+
+        /* Constructor (creates a leaf with the given key and value) */
+        Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V old = this.value;
+            this.value = value;
+            return old;
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + value;
+        }
+
+        /* equal to any Map.Entry with an equal key and value, as the Map.Entry contract requires */
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Map.Entry<?, ?> e && Objects.equals(key, e.getKey()) && Objects.equals(value, e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(key) ^ Objects.hashCode(value);
+        }
+    }
+}
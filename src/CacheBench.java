@@ -0,0 +1,112 @@
+/**
+ * @file: CacheBench.java
+ * @description: Measures LookupCache in front of an AvlMap name index like Parser's, on Zipf-distributed lookups of
+ * synthetic driver names with periodic one-time scans of cold names and occasional updates that invalidate a key.
+ * Reports hit rate and lookups per second with no cache, LRU and W-TinyLFU at several capacities.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.util.Locale;
+import java.util.Random;
+
+public class CacheBench {
+    private static final int SCAN_PERCENT = 20;             // lookups that belong to a one-time scan
+    private static final int UPDATE_PERCENT = 1;            // lookups followed by an update of their key
+
+    public static void main(String[] args) {
+        // Usage: java CacheBench [names] [lookups] [zipf exponent] [seed]
+        int names = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int lookups = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+        double exponent = args.length > 2 ? Double.parseDouble(args[2]) : 0.99;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42L;
+
+        AvlMap<String, F1> index = new AvlMap<>();
+        String[] keys = new String[names];
+        for (int i = 0; i < names; i++) {
+            keys[i] = ("Driver " + i).toLowerCase(Locale.ROOT);
+            index.put(keys[i], new F1("Driver " + i, "Nowhere", new String[0], 0, 0, 0, i));
+        }
+        String[] workload = new String[lookups];
+        boolean[] updates = new boolean[lookups];
+        Random random = new Random(seed);
+        double[] cdf = zipf(names, exponent);
+        int scanned = 0;
+        for (int i = 0; i < lookups; i++) {
+            if (random.nextInt(100) < SCAN_PERCENT) {
+                workload[i] = "scan " + (scanned++);    // never seen before, never seen again
+            } else {
+                workload[i] = keys[sample(cdf, random.nextDouble())];
+                updates[i] = random.nextInt(100) < UPDATE_PERCENT;
+            }
+        }
+
+        System.out.println("===========Lookup Cache Benchmark===========");
+        System.out.printf("names: %d, lookups: %d, zipf exponent: %.2f, scan: %d%%, updates: %d%%, seed: %d\n",
+                names, lookups, exponent, SCAN_PERCENT, UPDATE_PERCENT, seed);
+        System.out.println("policy,capacity,hitRate,lookupsPerSecond,hitP50Nanos,missP50Nanos");
+        /* The first pass only warms up the JIT */
+        for (int pass = 0; pass < 2; pass++) {
+            long start = System.nanoTime();
+            int found = 0;
+            for (String key : workload) {
+                found += index.get(key) != null ? 1 : 0;
+            }
+            double rate = lookups / ((System.nanoTime() - start) / 1_000_000_000.0);
+            if (pass == 1) {
+                System.out.printf("none,0,0.000,%.0f,,\n", rate);
+            }
+            for (LookupCache.Policy policy : LookupCache.Policy.values()) {
+                for (int capacity : new int[] {names / 1000, names / 100, names / 10}) {
+                    LookupCache<String, F1> cache = new LookupCache<>(capacity, policy);
+                    start = System.nanoTime();
+                    int cachedFound = 0;
+                    for (int i = 0; i < lookups; i++) {
+                        cachedFound += cache.get(workload[i], index::get) != null ? 1 : 0;
+                        if (updates[i]) {
+                            cache.invalidate(workload[i]);
+                        }
+                    }
+                    rate = lookups / ((System.nanoTime() - start) / 1_000_000_000.0);
+                    if (cachedFound != found) {
+                        System.out.println("CACHED RESULTS DIFFER FROM THE INDEX!");
+                        System.exit(1);
+                    }
+                    if (pass == 1) {
+                        System.out.printf("%s,%d,%.3f,%.0f,%d,%d\n", policy, capacity, cache.getHitRate(), rate,
+                                cache.getHitLatency().getValueAtPercentile(50),
+                                cache.getMissLatency().getValueAtPercentile(50));
+                    }
+                }
+            }
+        }
+    }
+
+    /* cumulative probabilities of ranks 0..n-1 under a Zipf distribution */
+    private static double[] zipf(int n, double exponent) {
+        double[] cdf = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += 1.0 / Math.pow(i + 1, exponent);
+            cdf[i] = total;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= total;
+        }
+        return cdf;
+    }
+
+    /* returns the rank whose cumulative probability first reaches u */
+    private static int sample(double[] cdf, double u) {
+        int lo = 0;
+        int hi = cdf.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cdf[mid] < u) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
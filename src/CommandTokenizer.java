@@ -0,0 +1,171 @@
+/**
+ * @file: CommandTokenizer.java
+ * @description: This class defines a streaming tokenizer for Parser command files. It reads characters in blocks from
+ * a channel and splits each line into a verb and an argument in one pass, collapsing runs of whitespace to single
+ * spaces the same way Parser's trim/replaceAll/split/join did, but with no regex and no per-line arrays. Known verbs
+ * are returned as shared constants, so a line costs at most one String (its argument). It differs from the old
+ * approach only on unusual characters: every char up to ' ' (including control characters) separates words, where
+ * the regex only split at \s, and lines end only at '\n', '\r' and "\r\n", where Scanner also ended them at
+ * U+0085, U+2028 and U+2029.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+
+public class CommandTokenizer implements Closeable {
+    /* The verbs Parser understands, returned by verb() without allocating */
+    public static final String INSERT = "insert";
+    public static final String SEARCH = "search";
+    public static final String REMOVE = "remove";
+    public static final String PRINT = "print";
+    private static final String[] VERBS = {INSERT, SEARCH, REMOVE, PRINT};
+
+    private final Reader reader;
+    private final char[] buffer = new char[1 << 14];
+    private int position = 0;
+    private int limit = 0;
+    private boolean skipLineFeed = false;                  // the last line ended with '\r'
+
+    private final char[] verbChars = new char[16];          // first word of the current line (if short)
+    private int verbLength = 0;
+    private boolean verbTooLong = false;
+    private final StringBuilder verbOverflow = new StringBuilder();
+    private final StringBuilder argument = new StringBuilder();
+
+    /* Constructor (decodes the channel with the platform charset, as Scanner does) */
+    public CommandTokenizer(ReadableByteChannel channel) {
+        this(channel, Charset.defaultCharset());
+    }
+
+    /* Constructor (decodes the channel with the given charset; undecodable bytes become U+FFFD) */
+    public CommandTokenizer(ReadableByteChannel channel, Charset charset) {
+        this.reader = Channels.newReader(channel, charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE), -1);
+    }
+
+    /**
+     * Advances to the next line that is not blank
+     *
+     * @return true if a command was read, false at the end of the input.
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            verbLength = 0;
+            verbTooLong = false;
+            verbOverflow.setLength(0);
+            argument.setLength(0);
+            int words = 0;
+            boolean inWord = false;
+            boolean sawAnything = false;
+
+            while (true) {
+                if (position == limit && !fill()) {
+                    if (!sawAnything) {
+                        return false;                       // end of input
+                    }
+                    break;
+                }
+                char c = buffer[position++];
+                sawAnything = true;
+                if (skipLineFeed) {
+                    skipLineFeed = false;
+                    if (c == '\n') {
+                        continue;                           // second half of "\r\n"
+                    }
+                }
+                if (c == '\n' || c == '\r') {
+                    skipLineFeed = (c == '\r');
+                    break;
+                }
+                if (c <= ' ') {                             // whitespace ends the current word
+                    inWord = false;
+                    continue;
+                }
+                if (!inWord) {
+                    inWord = true;
+                    words++;
+                    if (words > 2) {
+                        argument.append(' ');               // collapse the gap to one space
+                    }
+                }
+                if (words == 1) {
+                    appendVerb(c);
+                }
+                else {
+                    argument.append(c);
+                }
+            }
+            if (words > 0) {
+                return true;
+            }
+        }
+    }
+
+    /* returns the first word of the current line; known verbs are shared constants */
+    public String verb() {
+        if (verbTooLong) {
+            return verbOverflow.toString();
+        }
+        for (String verb : VERBS) {
+            if (verb.length() == verbLength && matches(verb)) {
+                return verb;
+            }
+        }
+        return new String(verbChars, 0, verbLength);
+    }
+
+    /* returns the rest of the current line with single spaces between words ("" if there is none) */
+    public String argument() {
+        return argument.length() == 0 ? "" : argument.toString();
+    }
+
+    /* closes the underlying channel */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /* adds a character to the verb, spilling to a builder for unusually long first words */
+    private void appendVerb(char c) {
+        if (!verbTooLong && verbLength < verbChars.length) {
+            verbChars[verbLength++] = c;
+            return;
+        }
+        if (!verbTooLong) {
+            verbTooLong = true;
+            verbOverflow.append(verbChars, 0, verbLength);
+        }
+        verbOverflow.append(c);
+    }
+
+    /* compares the verb characters with a known verb */
+    private boolean matches(String verb) {
+        for (int i = 0; i < verbLength; i++) {
+            if (verbChars[i] != verb.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /* reads the next block of characters; returns false at the end of the input */
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        while (read == 0) {
+            read = reader.read(buffer, 0, buffer.length);
+        }
+        if (read < 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
@@ -103,4 +103,35 @@ public class F1 implements Comparable<F1> {
     public int getRaceWins() { return raceWins; }
     public int getPodiums() { return podiums; }
     public double getPoints() { return points; }
+
+    /* Returns the first season the driver raced in (-1 if no season is a year) */
+    public int getFirstSeason() {
+        int first = -1;
+        for (String season : seasons) {
+            int year = parseYear(season);
+            if (year >= 0 && (first < 0 || year < first)) {
+                first = year;
+            }
+        }
+        return first;
+    }
+
+    /* Returns the last season the driver raced in (-1 if no season is a year) */
+    public int getLastSeason() {
+        int last = -1;
+        for (String season : seasons) {
+            last = Math.max(last, parseYear(season));
+        }
+        return last;
+    }
+
+    /* Parses a season as a year (-1 if it is not one) */
+    private static int parseYear(String season) {
+        try {
+            return season == null ? -1 : Math.max(-1, Integer.parseInt(season.trim()));
+        }
+        catch (NumberFormatException e) {
+            return -1;
+        }
+    }
 }
\ No newline at end of file
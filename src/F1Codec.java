@@ -0,0 +1,66 @@
+/**
+ * @file: F1Codec.java
+ * @description: This class defines the binary snapshot codec for F1 records: the two strings, the seasons as a count
+ * followed by each season (a plain year takes two bytes), then the numeric stats. Reading a record does no text
+ * parsing at all.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class F1Codec implements TreeCodec<F1> {
+    private static final short NOT_A_YEAR = -1;             // the season follows as a string
+
+    /* writes one driver record */
+    @Override
+    public void write(F1 driver, DataOutput out) throws IOException {
+        out.writeUTF(driver.getDriver());
+        out.writeUTF(driver.getNationality());
+        String[] seasons = driver.getSeasons();
+        out.writeShort(seasons.length);
+        for (String season : seasons) {
+            int year = year(season);
+            out.writeShort(year);
+            if (year == NOT_A_YEAR) {
+                out.writeUTF(season);
+            }
+        }
+        out.writeInt(driver.getChampionships());
+        out.writeInt(driver.getRaceWins());
+        out.writeInt(driver.getPodiums());
+        out.writeDouble(driver.getPoints());
+    }
+
+    /* reads one driver record */
+    @Override
+    public F1 read(DataInput in) throws IOException {
+        String driver = in.readUTF();
+        String nationality = in.readUTF();
+        String[] seasons = new String[in.readUnsignedShort()];
+        for (int i = 0; i < seasons.length; i++) {
+            short year = in.readShort();
+            seasons[i] = (year == NOT_A_YEAR) ? in.readUTF() : Integer.toString(year);
+        }
+        int championships = in.readInt();
+        int raceWins = in.readInt();
+        int podiums = in.readInt();
+        double points = in.readDouble();
+        return new F1(driver, nationality, seasons, championships, raceWins, podiums, points);
+    }
+
+    /* returns the season as a year if it reads back as exactly the same string, otherwise NOT_A_YEAR */
+    private static int year(String season) {
+        if (season.isEmpty() || season.length() > 4) {
+            return NOT_A_YEAR;
+        }
+        for (int i = 0; i < season.length(); i++) {
+            if (season.charAt(i) < '0' || season.charAt(i) > '9') {
+                return NOT_A_YEAR;
+            }
+        }
+        int year = Integer.parseInt(season);
+        return Integer.toString(year).equals(season) ? year : NOT_A_YEAR;
+    }
+}
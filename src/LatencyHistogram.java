@@ -0,0 +1,104 @@
+/**
+ * @file: LatencyHistogram.java
+ * @description: Defines a fixed-size latency histogram in the style of HdrHistogram. Values below 128 ns get their
+ * own bucket; above that every power of two is split into 64 linear sub-buckets, so any recorded value is reported
+ * within about 1.6% of its true value while recording stays a shift and an array increment.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.util.Arrays;
+
+public class LatencyHistogram {
+    private static final int SUB_BUCKETS = 128;                 // exact buckets for small values
+    private static final int HALF = SUB_BUCKETS / 2;            // linear sub-buckets per power of two after that
+    private static final int BUCKETS = SUB_BUCKETS + 56 * HALF; // enough for any non-negative long
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long total;                                         // sum of the values, modulo 2^63
+    private long totalOverflows;                                // times the sum passed 2^63 (values near Long.MAX_VALUE)
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    /* records one latency value in nanoseconds (negative values are treated as 0) */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        counts[indexOf(value)]++;
+        count++;
+        total += value;
+        if (total < 0) {
+            total &= Long.MAX_VALUE;
+            totalOverflows++;
+        }
+        if (value < min) {
+            min = value;
+        }
+        if (value > max) {
+            max = value;
+        }
+    }
+
+    /* clears every recorded value */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        totalOverflows = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    /**
+     * Returns the value below or at which the given percentage of recorded values fall
+     *
+     * @param percentile a percentage between 0 and 100 (e.g. 99.9).
+     * @return the highest value in the matching bucket, capped at the recorded maximum (0 if empty).
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count);
+        target = Math.max(target, 1);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestValueAt(i), max);
+            }
+        }
+        return max;
+    }
+
+    /* Getter methods for summary values */
+    public long getCount() { return count; }
+    public long getMax() { return max; }
+    public long getMin() { return count == 0 ? 0 : min; }
+    public double getMean() { return count == 0 ? 0.0 : (totalOverflows * 0x1p63 + total) / count; }
+
+    /* maps a value to its bucket */
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - 6;  // leaves value >> shift in [64, 127]
+        return SUB_BUCKETS + (shift - 1) * HALF + (int) (value >> shift) - HALF;
+    }
+
+    /* returns the largest value that maps to the given bucket */
+    private static long highestValueAt(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / HALF + 1;
+        long sub = (index - SUB_BUCKETS) % HALF + HALF;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    /* Returns a one-line summary in nanoseconds */
+    @Override
+    public String toString() {
+        return String.format("count: %d, p50: %d ns, p99: %d ns, p99.9: %d ns, max: %d ns", count,
+                getValueAtPercentile(50), getValueAtPercentile(99), getValueAtPercentile(99.9), max);
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * @file: LazyDeleteBench.java
+ * @description: Measures delete-heavy throughput of AvlTree with eager removal (unlink and rebalance at once)
+ * against lazy removal (mark a tombstone, rebuild once tombstones pass a share of the nodes). Each round removes
+ * bursts of random keys, with searches and a few re-inserts in between, and both trees must end up identical.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+public class LazyDeleteBench {
+    /* Search results are added here so the searches are not optimized away */
+    static volatile int sink;
+
+    public static void main(String[] args) {
+        // Usage: java LazyDeleteBench [keys] [compactRatio] [rounds] [seed]
+        int keys = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        double compactRatio = args.length > 1 ? Double.parseDouble(args[1]) : 0.5;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42L;
+
+        List<Integer> shuffled = new ArrayList<>(keys);
+        for (int i = 0; i < keys; i++) {
+            shuffled.add(i);
+        }
+        Collections.shuffle(shuffled, new Random(seed));
+
+        System.out.println("===========Lazy Delete Benchmark===========");
+        System.out.printf("keys: %d, compact ratio: %.2f, seed: %d\n", keys, compactRatio, seed);
+        System.out.println("round,eagerOpsPerSecond,lazyOpsPerSecond,speedup,purges");
+        /* The first round only warms up the JIT */
+        for (int round = 0; round <= rounds; round++) {
+            AvlTree<Integer> eager = new AvlTree<>();
+            AvlTree<Integer> lazy = new AvlTree<>();
+            lazy.setLazyRemove(compactRatio);
+            eager.insertAll(shuffled);
+            lazy.insertAll(shuffled);
+
+            long start = System.nanoTime();
+            long eagerOps = run(eager, shuffled, new Random(seed + round), null);
+            double eagerRate = eagerOps / ((System.nanoTime() - start) / 1e9);
+
+            int[] purges = new int[1];
+            start = System.nanoTime();
+            long lazyOps = run(lazy, shuffled, new Random(seed + round), purges);
+            double lazyRate = lazyOps / ((System.nanoTime() - start) / 1e9);
+
+            if (!same(eager, lazy)) {
+                System.out.println("LAZY TREE DIFFERS FROM EAGER TREE!");
+                System.exit(1);
+            }
+            if (round > 0) {
+                System.out.printf("%d,%.0f,%.0f,%.2fx,%d\n", round, eagerRate, lazyRate, lazyRate / eagerRate, purges[0]);
+            }
+        }
+    }
+
+    /* removes most of the keys in bursts of 1000, each followed by 100 searches and 50 re-inserts */
+    private static long run(AvlTree<Integer> tree, List<Integer> keys, Random random, int[] purges) {
+        long ops = 0;
+        int checksum = 0;
+        for (int next = 0; next + 1000 <= keys.size() * 3 / 4; next += 1000) {
+            for (int i = next; i < next + 1000; i++) {
+                int before = tree.tombstones();
+                tree.remove(keys.get(i));
+                if (purges != null && tree.tombstones() < before) {
+                    purges[0]++;
+                }
+            }
+            for (int i = 0; i < 100; i++) {
+                checksum += tree.contains(keys.get(random.nextInt(keys.size()))) ? 1 : 0;
+            }
+            for (int i = 0; i < 50; i++) {
+                tree.insert(keys.get(random.nextInt(next + 1000)));
+            }
+            ops += 1150;
+        }
+        sink += checksum;
+        return ops;
+    }
+
+    /* returns true if both trees hold the same items in the same order */
+    private static boolean same(AvlTree<Integer> a, AvlTree<Integer> b) {
+        Iterator<Integer> ia = a.iterator();
+        Iterator<Integer> ib = b.iterator();
+        while (ia.hasNext() && ib.hasNext()) {
+            if (!ia.next().equals(ib.next())) {
+                return false;
+            }
+        }
+        return !ia.hasNext() && !ib.hasNext() && a.size() == b.size();
+    }
+}
@@ -0,0 +1,312 @@
+/**
+ * @file: LookupCache.java
+ * @description: Defines a bounded cache for lookup results, with either plain LRU eviction or W-TinyLFU: a small LRU
+ * window in front of a segmented LRU main area, where a window victim only enters the main area if a count-min
+ * sketch says it has been requested more often than the main area's own victim. Absent results are cached too, and
+ * callers invalidate keys exactly when the underlying data changes. Hits, misses and evictions are counted, and
+ * the latency of every 16th lookup is recorded. Not thread-safe, like the trees it sits in front of.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.util.HashMap;
+import java.util.function.Function;
+
+public class LookupCache<K, V> {
+    public enum Policy { LRU, TINY_LFU }
+
+    private static final int WINDOW_PERCENT = 1;            // W-TinyLFU window share of the capacity
+    private static final int PROTECTED_PERCENT = 80;        // protected share of the main area
+    private static final int WINDOW = 0;                    // segments an entry can be in
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+    private static final int LATENCY_SAMPLE_MASK = 15;      // time one lookup in 16; nanoTime costs as much as a hit
+
+    private final Policy policy;
+    private final int capacity;
+    private final HashMap<K, Entry<K, V>> entries;
+    private final Segment<K, V>[] segments;
+    private final int[] limits;
+    private final FrequencySketch sketch;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long rejections;                                // window victims TinyLFU did not admit
+    private final LatencyHistogram hitLatency = new LatencyHistogram();
+    private final LatencyHistogram missLatency = new LatencyHistogram();
+
+    /**
+     * Creates an empty cache. W-TinyLFU needs a window, a probation and a protected segment of at least one key
+     * each, so with a capacity below 3 a TINY_LFU cache evicts as plain LRU (getPolicy() still reports TINY_LFU).
+     *
+     * @param capacity the maximum number of cached keys (at least 1).
+     * @param policy how entries are chosen for eviction.
+     */
+    @SuppressWarnings("unchecked")
+    public LookupCache(int capacity, Policy policy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1");
+        }
+        this.policy = policy;
+        this.capacity = capacity;
+        this.entries = new HashMap<>();
+        this.segments = (Segment<K, V>[]) new Segment<?, ?>[] {new Segment<K, V>(), new Segment<K, V>(), new Segment<K, V>()};
+        this.limits = new int[3];
+        if (policy == Policy.LRU || capacity < 3) {
+            limits[WINDOW] = capacity;                      // the window alone is a plain LRU list
+            this.sketch = null;
+        }
+        else {
+            limits[WINDOW] = Math.max(1, capacity * WINDOW_PERCENT / 100);
+            int main = capacity - limits[WINDOW];
+            limits[PROTECTED] = Math.max(1, main * PROTECTED_PERCENT / 100);
+            limits[PROBATION] = main - limits[PROTECTED];
+            this.sketch = new FrequencySketch(capacity);
+        }
+    }
+
+    /**
+     * Returns the value for a key, calling the loader on a miss and caching its result (null results included)
+     *
+     * @param key the key to look up.
+     * @param loader finds the value when the key is not cached.
+     * @return the cached or loaded value (may be null).
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        boolean timed = ((hits + misses) & LATENCY_SAMPLE_MASK) == 0;
+        long start = timed ? System.nanoTime() : 0;
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+        Entry<K, V> entry = entries.get(key);
+        if (entry != null) {
+            touch(entry);
+            hits++;
+            if (timed) {
+                hitLatency.record(System.nanoTime() - start);
+            }
+            return entry.value;
+        }
+        V value = loader.apply(key);
+        entry = new Entry<>(key, value);
+        entries.put(key, entry);
+        segments[WINDOW].addFirst(entry, WINDOW);
+        if (segments[WINDOW].size > limits[WINDOW]) {
+            admit(segments[WINDOW].removeLast());
+        }
+        misses++;
+        if (timed) {
+            missLatency.record(System.nanoTime() - start);
+        }
+        return value;
+    }
+
+    /* drops the cached result for a key, if there is one; call this whenever the key's value changes */
+    public void invalidate(K key) {
+        Entry<K, V> entry = entries.remove(key);
+        if (entry != null) {
+            segments[entry.segment].unlink(entry);
+        }
+    }
+
+    /* drops every cached result (metrics are kept) */
+    public void clear() {
+        entries.clear();
+        for (Segment<K, V> segment : segments) {
+            segment.head = null;
+            segment.tail = null;
+            segment.size = 0;
+        }
+    }
+
+    /* clears the hit, miss, eviction and latency metrics */
+    public void resetMetrics() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+        rejections = 0;
+        hitLatency.reset();
+        missLatency.reset();
+    }
+
+    public Policy getPolicy() { return policy; }
+    public int getCapacity() { return capacity; }
+    public int size() { return entries.size(); }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+    public long getEvictions() { return evictions; }
+    public long getRejections() { return rejections; }
+    public LatencyHistogram getHitLatency() { return hitLatency; }
+    public LatencyHistogram getMissLatency() { return missLatency; }
+
+    /* returns the share of lookups answered from the cache (0 if there were none) */
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    /* returns a one-line summary of the metrics */
+    @Override
+    public String toString() {
+        return String.format("%s cache (capacity %d): hits %d, misses %d, hit rate %.1f%%, evictions %d, rejections %d,"
+                        + " hit p50 %d ns, miss p50 %d ns", policy, capacity, hits, misses, 100 * getHitRate(),
+                evictions, rejections, hitLatency.getValueAtPercentile(50), missLatency.getValueAtPercentile(50));
+    }
+
+    /* records a hit: moves the entry to the front of its segment, promoting probation entries to protected */
+    private void touch(Entry<K, V> entry) {
+        if (entry.segment == PROBATION) {
+            segments[PROBATION].unlink(entry);
+            segments[PROTECTED].addFirst(entry, PROTECTED);
+            if (segments[PROTECTED].size > limits[PROTECTED]) {
+                segments[PROBATION].addFirst(segments[PROTECTED].removeLast(), PROBATION);  // demote, not evict
+            }
+        }
+        else {
+            segments[entry.segment].unlink(entry);
+            segments[entry.segment].addFirst(entry, entry.segment);
+        }
+    }
+
+    /* decides what happens to an entry pushed out of the window */
+    private void admit(Entry<K, V> candidate) {
+        if (sketch == null) {
+            evict(candidate);                               // plain LRU
+            return;
+        }
+        if (segments[PROBATION].size + segments[PROTECTED].size < limits[PROBATION] + limits[PROTECTED]) {
+            segments[PROBATION].addFirst(candidate, PROBATION);
+            return;
+        }
+        Entry<K, V> victim = segments[PROBATION].tail != null ? segments[PROBATION].tail : segments[PROTECTED].tail;
+        if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+            segments[victim.segment].unlink(victim);
+            evict(victim);
+            segments[PROBATION].addFirst(candidate, PROBATION);
+        }
+        else {
+            rejections++;
+            evict(candidate);
+        }
+    }
+
+    /* removes an entry that lost its place */
+    private void evict(Entry<K, V> entry) {
+        entries.remove(entry.key);
+        evictions++;
+    }
+
+    /* a cached result, linked into the list of the segment it is in */
+    private static class Entry<K, V> {
+        private final K key;
+        private final V value;
+        private int segment;
+        private Entry<K, V> prev;
+        private Entry<K, V> next;
+
+        Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /* a doubly-linked list of entries, most recently used first */
+    private static class Segment<K, V> {
+        private Entry<K, V> head;
+        private Entry<K, V> tail;
+        private int size;
+
+        void addFirst(Entry<K, V> entry, int segment) {
+            entry.segment = segment;
+            entry.prev = null;
+            entry.next = head;
+            if (head != null) {
+                head.prev = entry;
+            }
+            else {
+                tail = entry;
+            }
+            head = entry;
+            size++;
+        }
+
+        void unlink(Entry<K, V> entry) {
+            if (entry.prev != null) {
+                entry.prev.next = entry.next;
+            }
+            else {
+                head = entry.next;
+            }
+            if (entry.next != null) {
+                entry.next.prev = entry.prev;
+            }
+            else {
+                tail = entry.prev;
+            }
+            entry.prev = null;
+            entry.next = null;
+            size--;
+        }
+
+        Entry<K, V> removeLast() {
+            Entry<K, V> last = tail;
+            unlink(last);
+            return last;
+        }
+    }
+
+    /**
+     * Count-min sketch of recent key frequencies with 4-bit counters, four per key. All counters are halved after
+     * every ten times the capacity of increments, so old popularity fades.
+     */
+    private static class FrequencySketch {
+        private static final int DEPTH = 4;
+        private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+        private final byte[] counters;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int capacity) {
+            int width = Integer.highestOneBit(Math.max(capacity, 8) - 1) << 1;
+            counters = new byte[DEPTH * width];
+            mask = width - 1;
+            sampleSize = 10 * capacity;
+        }
+
+        /* counts one request for the key */
+        void increment(Object key) {
+            int hash = spread(key.hashCode());
+            boolean added = false;
+            for (int i = 0; i < DEPTH; i++) {
+                int index = i * (mask + 1) + (spread(hash * SEEDS[i]) & mask);
+                if (counters[index] < 15) {
+                    counters[index]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                for (int i = 0; i < counters.length; i++) {
+                    counters[i] >>= 1;
+                }
+                additions /= 2;
+            }
+        }
+
+        /* estimates how often the key was requested recently (never less than the truth, before aging) */
+        int frequency(Object key) {
+            int hash = spread(key.hashCode());
+            int frequency = 15;
+            for (int i = 0; i < DEPTH; i++) {
+                frequency = Math.min(frequency, counters[i * (mask + 1) + (spread(hash * SEEDS[i]) & mask)]);
+            }
+            return frequency;
+        }
+
+        private static int spread(int x) {
+            x ^= x >>> 16;
+            x *= 0x45d9f3b;
+            return x ^ (x >>> 16);
+        }
+    }
+}
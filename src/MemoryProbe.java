@@ -0,0 +1,68 @@
+/**
+ * @file: MemoryProbe.java
+ * @description: Defines helpers for measuring memory in the benchmarks: the live heap after forcing garbage
+ * collection until it settles (so the difference across building a structure is its retained size), and the bytes
+ * allocated so far by the current thread (HotSpot's ThreadMXBean extension), for allocation per operation.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+
+public class MemoryProbe {
+    private static final int MAX_GC_ROUNDS = 20;
+    private static final int STABLE_ROUNDS = 3;
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private MemoryProbe() {
+    }
+
+    /**
+     * Forces garbage collection until the used heap has stopped shrinking for a few rounds in a row (one collection
+     * does not always reclaim everything), then returns the lowest reading. Objects still reachable at this point
+     * are exactly what the caller holds on to, plus a small constant for the JVM itself.
+     *
+     * @return the used heap in bytes.
+     */
+    public static long usedHeapAfterGc() {
+        long used = Long.MAX_VALUE;
+        int stable = 0;
+        for (int round = 0; round < MAX_GC_ROUNDS && stable < STABLE_ROUNDS; round++) {
+            System.gc();
+            long now = MEMORY.getHeapMemoryUsage().getUsed();
+            if (now < used) {
+                used = now;
+                stable = 0;
+            }
+            else {
+                stable++;
+            }
+        }
+        return used;
+    }
+
+    /* checks whether allocatedBytes() is available on this JVM */
+    public static boolean allocationTrackingSupported() {
+        return THREADS instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemorySupported();
+    }
+
+    /**
+     * Returns the total bytes the current thread has allocated since it started; differences give the allocation
+     * of the code in between
+     *
+     * @return the allocated bytes, or -1 if the JVM cannot report them.
+     */
+    public static long allocatedBytes() {
+        if (!allocationTrackingSupported()) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+        if (!threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
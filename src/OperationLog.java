@@ -0,0 +1,310 @@
+/**
+ * @file: OperationLog.java
+ * @description: This class defines a write-ahead log of tree inserts and removes with periodic checkpoints. Records
+ * are appended in a compact binary form (length, CRC32, operation, element) and forced to disk in groups, so one
+ * fsync covers many operations. A checkpoint writes a snapshot of the whole tree and starts a new, empty log, so
+ * recovery loads the last checkpoint and replays only the operations logged after it. A torn record at the end of
+ * the log (from a crash mid-write) is detected by its checksum and cut off.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+public class OperationLog<E> implements Closeable {
+    public static final byte INSERT = 1;
+    public static final byte REMOVE = 2;
+
+    private static final int LOG_MAGIC = 0x4f504c47;            // "OPLG"
+    private static final int CHECKPOINT_MAGIC = 0x434b5054;     // "CKPT"
+    private static final int LOG_HEADER_BYTES = 12;             // magic and generation
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+
+    /* Writes the current tree state into a checkpoint */
+    public interface Checkpoint {
+        void write(DataOutput out) throws IOException;
+    }
+
+    /* Rebuilds the tree during recovery: first from the checkpoint (if any), then one logged operation at a time */
+    public interface Recovery<E> {
+        void restore(DataInput checkpoint) throws IOException;
+        void insert(E element);
+        void remove(E element);
+    }
+
+    private final File directory;
+    private final File logFile;
+    private final File checkpointFile;
+    private final TreeCodec<E> codec;
+    private final int groupSize;
+    private FileChannel channel;
+    private long generation = 0;                                // checkpoints taken; the log belongs to the latest
+
+    private final Buffer group = new Buffer();
+    private final DataOutputStream groupOut = new DataOutputStream(group);
+    private final Buffer record = new Buffer();
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+    private final CRC32 crc = new CRC32();
+    private int pending = 0;                                    // records appended but not yet forced
+    private long sinceCheckpoint = 0;                           // records in the log since the last checkpoint
+    private long syncs = 0;
+
+    /**
+     * Opens the log in a directory, creating the directory and an empty log if needed. Call recover() before
+     * appending if the directory may already hold a log.
+     *
+     * @param directory where the log and checkpoint files live.
+     * @param codec writes and reads the logged elements.
+     * @param groupSize the number of records forced to disk together (1 forces every record).
+     */
+    public OperationLog(File directory, TreeCodec<E> codec, int groupSize) throws IOException {
+        if (groupSize < 1) {
+            throw new IllegalArgumentException("groupSize must be at least 1");
+        }
+        Files.createDirectories(directory.toPath());
+        this.directory = directory;
+        this.logFile = new File(directory, "operations.log");
+        this.checkpointFile = new File(directory, "checkpoint.snap");
+        this.codec = codec;
+        this.groupSize = groupSize;
+    }
+
+    /**
+     * Rebuilds the state from the directory: loads the last checkpoint, then replays the log records written after
+     * it. A damaged tail is truncated and the log is left open for appending.
+     *
+     * @param recovery applies the checkpoint and the logged operations.
+     * @return the number of log records replayed.
+     */
+    public long recover(Recovery<E> recovery) throws IOException {
+        closeChannel();
+        generation = 0;
+        if (checkpointFile.exists()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(checkpointFile)))) {
+                if (in.readInt() != CHECKPOINT_MAGIC) {
+                    throw new IOException("not a checkpoint file: " + checkpointFile);
+                }
+                generation = in.readLong();
+                recovery.restore(in);
+            }
+        }
+
+        long replayed = 0;
+        long validLength = 0;
+        if (logFile.exists()) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(logFile)))) {
+                if (in.readInt() == LOG_MAGIC && in.readLong() == generation) {
+                    validLength = LOG_HEADER_BYTES;
+                    byte[] payload = new byte[64];
+                    while (true) {
+                        int length;
+                        try {
+                            length = in.readInt();
+                        }
+                        catch (EOFException e) {
+                            break;
+                        }
+                        if (length < 2 || length > MAX_RECORD_BYTES) {
+                            break;                              // torn or garbage length
+                        }
+                        int checksum = in.readInt();
+                        if (payload.length < length) {
+                            payload = new byte[Math.max(length, 2 * payload.length)];
+                        }
+                        in.readFully(payload, 0, length);
+                        crc.reset();
+                        crc.update(payload, 0, length);
+                        if ((int) crc.getValue() != checksum) {
+                            break;                              // torn record
+                        }
+                        DataInputStream element = new DataInputStream(new ByteArrayInputStream(payload, 1, length - 1));
+                        if (payload[0] == INSERT) {
+                            recovery.insert(codec.read(element));
+                        }
+                        else if (payload[0] == REMOVE) {
+                            recovery.remove(codec.read(element));
+                        }
+                        else {
+                            break;
+                        }
+                        validLength += 8 + length;
+                        replayed++;
+                    }
+                }
+            }
+            catch (EOFException e) {
+                // a torn header or record; everything before validLength is kept
+            }
+        }
+
+        if (validLength == 0) {
+            resetLog();                                         // no log, or one left over from an older checkpoint
+        }
+        else {
+            channel = FileChannel.open(logFile.toPath(), StandardOpenOption.WRITE);
+            channel.truncate(validLength);
+            channel.position(validLength);
+            channel.force(false);
+        }
+        sinceCheckpoint = replayed;
+        return replayed;
+    }
+
+    /**
+     * Appends one operation. It becomes durable with the rest of its group, when groupSize records are pending or
+     * commit() is called.
+     *
+     * @param operation INSERT or REMOVE.
+     * @param element the element inserted or removed.
+     */
+    public void append(byte operation, E element) throws IOException {
+        if (channel == null) {
+            throw new IllegalStateException("recover() must be called before append()");
+        }
+        record.reset();
+        recordOut.writeByte(operation);
+        codec.write(element, recordOut);
+        crc.reset();
+        crc.update(record.bytes(), 0, record.size());
+        groupOut.writeInt(record.size());
+        groupOut.writeInt((int) crc.getValue());
+        record.writeTo(group);
+        pending++;
+        sinceCheckpoint++;
+        if (pending >= groupSize) {
+            commit();
+        }
+    }
+
+    /* writes the pending group to the log and forces it to disk with one fsync */
+    public void commit() throws IOException {
+        if (pending == 0) {
+            return;
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(group.bytes(), 0, group.size());
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        channel.force(false);
+        group.reset();
+        pending = 0;
+        syncs++;
+    }
+
+    /**
+     * Takes a checkpoint: commits pending records, writes the tree to a new checkpoint file that atomically replaces
+     * the old one, then starts an empty log. The directory is forced after each rename, so the new names survive a
+     * crash. A crash between the two steps is safe: the old log names the previous checkpoint, so recovery ignores it.
+     *
+     * @param checkpoint writes the current tree state.
+     */
+    public void checkpoint(Checkpoint checkpoint) throws IOException {
+        commit();
+        File temporary = new File(checkpointFile.getPath() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temporary)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file));
+            out.writeInt(CHECKPOINT_MAGIC);
+            out.writeLong(generation + 1);
+            checkpoint.write(out);
+            out.flush();
+            file.getChannel().force(true);
+        }
+        Files.move(temporary.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();                                        // the rename must be durable before the log is reset
+        generation++;
+        closeChannel();
+        resetLog();
+        sinceCheckpoint = 0;
+    }
+
+    /* returns the number of records logged since the last checkpoint (including those replayed by recover) */
+    public long sinceCheckpoint() {
+        return sinceCheckpoint;
+    }
+
+    /* returns the number of records appended but not yet forced to disk */
+    public int pending() {
+        return pending;
+    }
+
+    /* returns the number of fsyncs done by commit() */
+    public long syncs() {
+        return syncs;
+    }
+
+    /* commits pending records and closes the log */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            commit();
+        }
+        closeChannel();
+    }
+
+    /* replaces the log with an empty one for the current generation */
+    private void resetLog() throws IOException {
+        File temporary = new File(logFile.getPath() + ".tmp");
+        try (FileChannel header = FileChannel.open(temporary.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer bytes = ByteBuffer.allocate(LOG_HEADER_BYTES).putInt(LOG_MAGIC).putLong(generation);
+            bytes.flip();
+            while (bytes.hasRemaining()) {
+                header.write(bytes);
+            }
+            header.force(true);
+        }
+        Files.move(temporary.toPath(), logFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+        channel = FileChannel.open(logFile.toPath(), StandardOpenOption.WRITE);
+        channel.position(LOG_HEADER_BYTES);
+    }
+
+    /* forces the directory, so a file just renamed into it survives a crash under its new name */
+    private void syncDirectory() throws IOException {
+        FileChannel entries;
+        try {
+            entries = FileChannel.open(directory.toPath(), StandardOpenOption.READ);
+        }
+        catch (IOException e) {
+            return;                                             // some platforms (Windows) cannot open a directory
+        }
+        try (FileChannel open = entries) {
+            open.force(true);
+        }
+    }
+
+    /* closes the log channel if it is open */
+    private void closeChannel() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /* a byte buffer whose contents can be read without copying */
+    private static class Buffer extends ByteArrayOutputStream {
+        byte[] bytes() {
+            return buf;
+        }
+    }
+}
@@ -6,37 +6,345 @@
  * @date: September 17, 2025 (Modified September 24, 2025)
  */
 
+import java.io.BufferedWriter;
+import java.io.DataInput;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.Iterator;
+import java.io.UncheckedIOException;
+import java.util.Locale;
 import java.util.Scanner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
 
 public class Parser {
 
     //Create a BST tree of Integer type
     private BST<F1> mybst = new BST<>();
+    //Index of the drivers in mybst by lower-case name, so search and remove do not scan the tree
+    private AvlMap<String, F1> byName = new AvlMap<>();
     private String dataname;
 
+    //Commands the pipeline reads ahead of the writer; bounds memory and in-flight lookups
+    private static final int PIPELINE_WINDOW = 1024;
+
+    //Splits a dataset line at the commas that are outside quotes
+    private static final Pattern CSV_FIELDS = Pattern.compile(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)");
+
+    //Cache of search results by name key, invalidated on every insert and remove (null when not caching)
+    private LookupCache<String, F1> cache;
+
+    //Write-ahead log of tree changes (null when the tree is not persisted)
+    private OperationLog<F1> log;
+    private final F1Codec codec = new F1Codec();
+
+    //Tree changes forced to disk together, and logged changes between checkpoints
+    private static final int GROUP_COMMIT = 64;
+    private static final int CHECKPOINT_INTERVAL = 100_000;
+
+    //Result lines waiting for the changes logged before them to be forced to disk
+    private final StringBuilder held = new StringBuilder();
+
     /* processes the given input file */
     public Parser(String filename, String dataname) throws FileNotFoundException {
         this.dataname = dataname;
         process(new File(filename));
     }
 
-    /* reads each input line and cleans up spaces */
+    /* processes the given input file with the pipeline, running dataset lookups on the given number of threads */
+    public Parser(String filename, String dataname, int lookupThreads) throws FileNotFoundException {
+        this.dataname = dataname;
+        processPipelined(new File(filename), lookupThreads);
+    }
+
+    /* processes the given input file, answering searches through the given cache (its metrics stay readable) */
+    public Parser(String filename, String dataname, LookupCache<String, F1> cache) throws FileNotFoundException {
+        this.dataname = dataname;
+        this.cache = cache;
+        cache.clear();                                      // results from another tree must not leak in
+        process(new File(filename));
+    }
+
+    /**
+     * Recovers the tree from the log directory, then processes the given input file, logging every change. Changes
+     * are forced to disk in groups of GROUP_COMMIT, and result lines are held back until every change logged before
+     * them is on disk, so result.txt never reports a change a crash could lose. Closing the parser forces the last
+     * group and writes the lines still held.
+     *
+     * @param filename the command file.
+     * @param dataname the dataset file.
+     * @param logDirectory the directory holding the log and checkpoint (created if missing).
+     * @throws java.io.UncheckedIOException if the log cannot be written; the run stops there.
+     */
+    public Parser(String filename, String dataname, File logDirectory) throws IOException {
+        this.dataname = dataname;
+        openLog(logDirectory);
+        try {
+            process(new File(filename));
+        }
+        finally {
+            closeLog();
+        }
+    }
+
+    /**
+     * Recovers the tree from the log directory, then processes the given input file with the pipeline and logging.
+     * As with the sequential log constructor, result lines are only written once the changes before them are on disk.
+     *
+     * @param filename the command file.
+     * @param dataname the dataset file.
+     * @param lookupThreads the number of threads scanning the dataset file concurrently.
+     * @param logDirectory the directory holding the log and checkpoint (created if missing).
+     * @throws java.io.UncheckedIOException if the log cannot be written; the run stops there.
+     */
+    public Parser(String filename, String dataname, int lookupThreads, File logDirectory) throws IOException {
+        this.dataname = dataname;
+        openLog(logDirectory);
+        try {
+            processPipelined(new File(filename), lookupThreads);
+        }
+        finally {
+            closeLog();
+        }
+    }
+
+    /**
+     * Opens the write-ahead log and rebuilds the tree and the name index from it: the last checkpoint is loaded as
+     * a snapshot (no comparisons), then only the changes logged after it are replayed.
+     *
+     * @param logDirectory the directory holding the log and checkpoint (created if missing).
+     */
+    private void openLog(File logDirectory) throws IOException {
+        log = new OperationLog<>(logDirectory, codec, GROUP_COMMIT);
+        log.recover(new OperationLog.Recovery<F1>() {
+            @Override
+            public void restore(DataInput checkpoint) throws IOException {
+                mybst.readSnapshot(checkpoint, codec);
+                for (F1 driver : mybst) {
+                    byName.put(nameKey(driver.getDriver()), driver);
+                }
+            }
+
+            @Override
+            public void insert(F1 driver) {
+                mybst.insert(driver);
+                byName.put(nameKey(driver.getDriver()), driver);
+            }
+
+            @Override
+            public void remove(F1 driver) {
+                byName.remove(nameKey(driver.getDriver()));
+                mybst.remove(driver);
+            }
+        });
+    }
+
+    /* forces the last group of changes to disk, closes the log and writes the result lines it held back */
+    private void closeLog() throws IOException {
+        OperationLog<F1> open = log;
+        log = null;
+        if (open != null) {
+            open.close();
+            appendResults(held.toString());
+            held.setLength(0);
+        }
+    }
+
+    /* appends a tree change to the log, taking a checkpoint every CHECKPOINT_INTERVAL changes */
+    private void logChange(byte operation, F1 driver) {
+        if (log == null) {
+            return;
+        }
+        try {
+            log.append(operation, driver);
+            if (log.sinceCheckpoint() >= CHECKPOINT_INTERVAL) {
+                log.checkpoint(out -> mybst.writeSnapshot(out, codec));
+            }
+        }
+        catch (IOException e) {
+            OperationLog<F1> failed = log;
+            log = null;
+            held.setLength(0);                              // their changes may not be on disk
+            try {
+                failed.close();
+            }
+            catch (IOException ignored) {
+                // the append failure is the one reported
+            }
+            throw new UncheckedIOException("Error writing to log: " + e.getMessage(), e);
+        }
+    }
+
+    /*
+     * returns the result lines that may be written now: with a log, a line is held back until every change logged
+     * before it is on disk, so a crash cannot lose a change result.txt already reports
+     */
+    private String release(String result) {
+        if (log == null) {
+            return result + "\n";
+        }
+        held.append(result).append('\n');
+        if (log.pending() > 0) {
+            return "";
+        }
+        String released = held.toString();
+        held.setLength(0);
+        return released;
+    }
+
+    /* reads each input line with the streaming tokenizer and runs it */
     public void process(File input) throws FileNotFoundException {
-        try (Scanner scanner = new Scanner(input)) {
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                String editedLine = line.trim().replaceAll("\\s+", " ");
-                if (editedLine.isEmpty()) {
-                    continue;
+        try (CommandTokenizer tokens = new CommandTokenizer(new FileInputStream(input).getChannel())) {
+            while (tokens.next()) {
+                appendResults(release(execute(tokens.verb(), tokens.argument(), null)));
+            }
+        }
+        catch (FileNotFoundException e) {
+            throw e;
+        }
+        catch (IOException e) {
+            System.out.println("Error reading file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Processes the input file as a pipeline: this thread tokenizes commands and starts the dataset lookup
+     * for each insert on a thread pool, while a single writer thread applies the commands to the tree in their
+     * original order and writes their results. The output is identical to process(); only the slow dataset scans
+     * overlap. The pool is a plain fixed pool because this project targets Java 17, which has no virtual threads.
+     *
+     * @param input the command file.
+     * @param lookupThreads the number of threads scanning the dataset file concurrently.
+     */
+    public void processPipelined(File input, int lookupThreads) throws FileNotFoundException {
+        try (CommandTokenizer tokens = new CommandTokenizer(new FileInputStream(input).getChannel())) {
+            BufferedWriter out;
+            try {
+                out = new BufferedWriter(new FileWriter("./result.txt", true));
+            }
+            catch (IOException e) {
+                System.out.println("Error writing to file: " + e.getMessage());
+                return;
+            }
+            ExecutorService lookups = Executors.newFixedThreadPool(lookupThreads);
+            BlockingQueue<PendingCommand> queue = new ArrayBlockingQueue<>(PIPELINE_WINDOW);
+            Throwable[] failure = new Throwable[1];
+            Thread writer = new Thread(() -> {
+                try {
+                    PendingCommand next;
+                    while ((next = queue.take()).verb != null) {
+                        if (failure[0] != null) {
+                            continue;                       // keep draining so the reader never blocks
+                        }
+                        try {
+                            out.write(release(execute(next.verb, next.argument, next.lookup)));
+                        }
+                        catch (Throwable e) {
+                            failure[0] = e;                 // e.g. a malformed dataset row; stop as process() would
+                        }
+                    }
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "parser-writer");
+            writer.start();
+
+            boolean ended = false;
+            try {
+                while (tokens.next()) {
+                    String verb = tokens.verb();
+                    String name = tokens.argument();
+                    Future<F1> lookup = null;
+                    if (verb.equals("insert") && !name.isEmpty()) {
+                        lookup = lookups.submit(() -> findDriver(name));
+                    }
+                    queue.put(new PendingCommand(verb, name, lookup));
+                }
+                queue.put(new PendingCommand(null, null, null));
+                ended = true;
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            finally {
+                if (!ended) {
+                    writer.interrupt();                     // no end marker is coming; stop the writer instead
                 }
-                String[] command = editedLine.split(" ");
-                operate_BST(command);
+                joinWriter(writer);                         // the writer must be done with out before it is closed
+                lookups.shutdownNow();
+                try {
+                    out.close();
+                }
+                catch (IOException e) {
+                    System.out.println("Error writing to file: " + e.getMessage());
+                }
+            }
+            if (failure[0] instanceof FileNotFoundException) {
+                throw (FileNotFoundException) failure[0];     // the dataset file is missing, as in process()
+            }
+            if (failure[0] instanceof RuntimeException) {
+                throw (RuntimeException) failure[0];          // rethrown on the caller's thread, as in process()
+            }
+            if (failure[0] instanceof Error) {
+                throw (Error) failure[0];
+            }
+            if (failure[0] != null) {
+                System.out.println("Error writing to file: " + failure[0].getMessage());
+            }
+        }
+        catch (FileNotFoundException e) {
+            throw e;
+        }
+        catch (IOException e) {
+            System.out.println("Error reading file: " + e.getMessage());
+        }
+    }
+
+    /* waits for the writer thread to finish, keeping this thread's interrupt status */
+    private static void joinWriter(Thread writer) {
+        boolean interrupted = Thread.interrupted();
+        while (writer.isAlive()) {
+            try {
+                writer.join();
+            }
+            catch (InterruptedException e) {
+                interrupted = true;
+                writer.interrupt();
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* waits for a lookup started by the pipeline, rethrowing what findDriver threw */
+    private F1 await(Future<F1> lookup) throws FileNotFoundException {
+        try {
+            return lookup.get();
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof FileNotFoundException) {
+                throw (FileNotFoundException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for a driver lookup", e);
         }
     }
 
@@ -48,116 +356,133 @@ public class Parser {
             }
             while (scanner.hasNextLine()) {
                 String line = scanner.nextLine();
-                String[] command = line.split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)", -1);
+                String[] command = CSV_FIELDS.split(line, -1);
 
                 String driver = command[0].trim();
                 if (!driver.equalsIgnoreCase(driver1)) {
                     continue;
                 }
-                String nationality = command[1].trim();
-                String seasons = command[2].trim();
-                if (seasons.startsWith("\"") && seasons.endsWith("\"")) {
-                    seasons = seasons.substring(1, seasons.length() - 1);
-                }
-                seasons = seasons.trim();
-                if (seasons.startsWith("[") && seasons.endsWith("]")) {
-                    seasons = seasons.substring(1, seasons.length() - 1);
-                }
-                String[] seasonsArray = seasons.split("\\s*,\\s*");
-                int championships = Integer.parseInt(command[3].trim());
-                int raceWins = Integer.parseInt(command[4].trim());
-                int podiums = Integer.parseInt(command[5].trim());
-                double points = Double.parseDouble(command[6].trim());
-
-                return new F1(driver, nationality, seasonsArray, championships, raceWins, podiums, points);
+                return parseDriver(command);
             }
         }
         return null;
     }
 
+    /**
+     * Constructs an F1 object from one data line of the dataset file
+     *
+     * @param line the CSV line (not the header).
+     * @return the driver described by the line.
+     * @throws NumberFormatException if a numeric column is malformed.
+     */
+    public static F1 parseDriver(String line) {
+        return parseDriver(CSV_FIELDS.split(line, -1));
+    }
+
+    /* builds the driver from the split CSV columns */
+    private static F1 parseDriver(String[] command) {
+        String driver = command[0].trim();
+        String nationality = command[1].trim();
+        String seasons = command[2].trim();
+        if (seasons.startsWith("\"") && seasons.endsWith("\"")) {
+            seasons = seasons.substring(1, seasons.length() - 1);
+        }
+        seasons = seasons.trim();
+        if (seasons.startsWith("[") && seasons.endsWith("]")) {
+            seasons = seasons.substring(1, seasons.length() - 1);
+        }
+        String[] seasonsArray = seasons.split("\\s*,\\s*");
+        int championships = Integer.parseInt(command[3].trim());
+        int raceWins = Integer.parseInt(command[4].trim());
+        int podiums = Integer.parseInt(command[5].trim());
+        double points = Double.parseDouble(command[6].trim());
+
+        return new F1(driver, nationality, seasonsArray, championships, raceWins, podiums, points);
+    }
+
     /* Determines the command and calls the corresponding operations */
     public void operate_BST(String[] command) throws FileNotFoundException {
-        switch (command[0]) {
+        String argument = String.join(" ", java.util.Arrays.copyOfRange(command, 1, command.length)).trim();
+        writeToFile(execute(command[0], argument, null), "./result.txt");
+    }
+
+    /**
+     * Runs one command against the tree and returns its result line
+     *
+     * @param verb the first word of the command.
+     * @param argument the rest of the command with single spaces between words ("" if none).
+     * @param lookup the dataset lookup for an insert, already started by the pipeline (null to look up here).
+     * @return the line to write to the result file.
+     */
+    private String execute(String verb, String argument, Future<F1> lookup) throws FileNotFoundException {
+        switch (verb) {
             case "insert" -> {
-                if (command.length < 2) {
-                    writeToFile("Invalid Command", "./result.txt");
-                    return;
+                if (argument.isEmpty()) {
+                    return "Invalid Command";
                 }
                 try {
-                    String name = String.join(" ", java.util.Arrays.copyOfRange(command, 1, command.length)).trim();
-                    F1 match = findDriver(name);
+                    String name = argument;
+                    F1 match = (lookup != null) ? await(lookup) : findDriver(name);
                     if (match == null) {
-                        writeToFile("insert failed", "./result.txt");
+                        return "insert failed";
                     } else {
                         mybst.insert(match);
-                        writeToFile("insert " + name, "./result.txt");
+                        byName.put(nameKey(match.getDriver()), match);
+                        invalidate(match.getDriver());
+                        logChange(OperationLog.INSERT, match);
+                        return "insert " + name;
                     }
                 }
                 catch (NumberFormatException e) {
-                    writeToFile("Invalid Command", "./result.txt");
+                    return "Invalid Command";
                 }
             }
             case "search" -> {
-                if (command.length < 2) {
-                    writeToFile("Invalid Command", "./result.txt");
-                    return;
+                if (argument.isEmpty()) {
+                    return "Invalid Command";
                 }
                 try {
-                    String driver = String.join(" ", java.util.Arrays.copyOfRange(command, 1, command.length)).trim();
-                    F1 match = null;
-                    for (Iterator<F1> iterator = mybst.iterator(); iterator.hasNext();) {
-                        F1 current = iterator.next();
-                        if (current.getDriver() != null && current.getDriver().equalsIgnoreCase(driver)) {
-                            match = current;
-                            break;
-                        }
-                    }
+                    String driver = argument;
+                    F1 match = (cache != null) ? cache.get(nameKey(driver), byName::get) : byName.get(nameKey(driver));
                     if (match == null) {
-                        writeToFile("search failed", "./result.txt");
+                        return "search failed";
                     }
                     else {
-                        writeToFile("found " + driver, "./result.txt");
+                        return "found " + driver;
                     }
                 }
                 catch (NumberFormatException e) {
-                    writeToFile("Invalid Command", "./result.txt");
+                    return "Invalid Command";
                 }
             }
             case "remove" -> {
-                if (command.length < 2) {
-                    writeToFile("Invalid Command", "./result.txt");
-                    return;
+                if (argument.isEmpty()) {
+                    return "Invalid Command";
                 }
                 try {
-                    String driver = String.join(" ", java.util.Arrays.copyOfRange(command, 1, command.length)).trim();
-                    F1 match = null;
-                    for (Iterator<F1> iterator = mybst.iterator(); iterator.hasNext();) {
-                        F1 current = iterator.next();
-                        if (current.getDriver() != null && current.getDriver().equalsIgnoreCase(driver)) {
-                            match = current;
-                            break;
-                        }
-                    }
+                    String driver = argument;
+                    F1 match = byName.get(nameKey(driver));
                     if (match == null) {
-                        writeToFile("remove failed", "./result.txt");
-                        return;
+                        return "remove failed";
                     }
                     Node<F1> removed = mybst.remove(match);
                     if (removed == null) {
-                        writeToFile("remove failed", "./result.txt");
+                        return "remove failed";
                     }
                     else {
-                        writeToFile("removed " + driver, "./result.txt");
+                        byName.remove(nameKey(driver));     // only once the tree no longer has the driver
+                        invalidate(driver);
+                        logChange(OperationLog.REMOVE, match);
+                        return "removed " + driver;
                     }
                 }
                 catch (NumberFormatException e) {
-                    writeToFile("Invalid Command", "./result.txt");
+                    return "Invalid Command";
                 }
             }
             case "print" -> {
-                if (command.length != 1) {
-                    writeToFile("Invalid Command", "./result.txt");
-                    return;
+                if (!argument.isEmpty()) {
+                    return "Invalid Command";
                 }
                 try {
                     StringBuilder output = new StringBuilder();
@@ -169,13 +494,52 @@ public class Parser {
                         output.append(f1.getDriver());
                         first = false;
                     }
-                    writeToFile(output.toString(), "./result.txt");
+                    return output.toString();
                 }
                 catch (Exception e) {
-                    writeToFile("Invalid Command", "./result.txt");
+                    return "Invalid Command";
                 }
             }
-            default -> writeToFile("Invalid Command", "./result.txt");
+            default -> {
+                return "Invalid Command";
+            }
+        }
+    }
+
+    /* drops the cached search result for a driver name */
+    private void invalidate(String driver) {
+        if (cache != null) {
+            cache.invalidate(nameKey(driver));
+        }
+    }
+
+    /* normalizes a driver name into its key in the name index */
+    private static String nameKey(String driver) {
+        return driver.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /* a command read by the pipeline, with the dataset lookup it started (null if none); a null verb ends input */
+    private static class PendingCommand {
+        private final String verb;
+        private final String argument;
+        private final Future<F1> lookup;
+
+        PendingCommand(String verb, String argument, Future<F1> lookup) {
+            this.verb = verb;
+            this.argument = argument;
+            this.lookup = lookup;
+        }
+    }
+
+    /* appends result lines (each ending in a newline) to result.txt */
+    private void appendResults(String lines) {
+        if (!lines.isEmpty()) {
+            try (FileWriter writer = new FileWriter("./result.txt", true)) {
+                writer.write(lines);
+            }
+            catch (IOException e) {
+                System.out.println("Error writing to file: " + e.getMessage());
+            }
         }
     }
 
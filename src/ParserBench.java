@@ -0,0 +1,94 @@
+/**
+ * @file: ParserBench.java
+ * @description: Generates a large random command file over the drivers in the dataset and measures Parser throughput
+ * in commands per second, sequentially and with the pipelined mode at several lookup thread counts. Every pipelined
+ * result file is checked against the sequential one. Parser writes ./result.txt, so run this from a scratch directory.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Scanner;
+
+public class ParserBench {
+    public static void main(String[] args) throws IOException {
+        // Usage: java ParserBench <dataset file> [commands] [seed]
+        if (args.length < 1) {
+            System.err.println("Usage: java ParserBench <dataset file> [commands] [seed]");
+            System.exit(1);
+        }
+        String dataset = args[0];
+        int commands = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+
+        File commandFile = File.createTempFile("commands", ".txt");
+        commandFile.deleteOnExit();
+        writeCommands(commandFile, driverNames(dataset), commands, new Random(seed));
+
+        System.out.println("===========Parser Benchmark===========");
+        System.out.printf("commands: %d, seed: %d\n", commands, seed);
+        File result = new File("result.txt");
+        Files.deleteIfExists(result.toPath());
+        long start = System.nanoTime();
+        new Parser(commandFile.getPath(), dataset);
+        long elapsed = System.nanoTime() - start;
+        List<String> expected = Files.readAllLines(result.toPath());
+        System.out.printf("sequential:          %.0f commands/second\n", commands / (elapsed / 1_000_000_000.0));
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= Math.max(8, 2 * cores); threads *= 2) {
+            Files.deleteIfExists(result.toPath());
+            start = System.nanoTime();
+            new Parser(commandFile.getPath(), dataset, threads);
+            elapsed = System.nanoTime() - start;
+            boolean same = Files.readAllLines(result.toPath()).equals(expected);
+            System.out.printf("pipelined, %2d threads: %.0f commands/second%s\n", threads,
+                    commands / (elapsed / 1_000_000_000.0), same ? "" : " (OUTPUT DIFFERS!)");
+        }
+        Files.deleteIfExists(result.toPath());
+    }
+
+    /* reads the driver names from the dataset file */
+    private static List<String> driverNames(String dataset) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (Scanner scanner = new Scanner(new File(dataset))) {
+            if (scanner.hasNextLine()) {
+                scanner.nextLine();
+            }
+            while (scanner.hasNextLine()) {
+                String line = scanner.nextLine();
+                if (!line.isBlank()) {
+                    names.add(line.substring(0, line.indexOf(',')).trim());
+                }
+            }
+        }
+        return names;
+    }
+
+    /* writes a mix of inserts, searches, removes, misses, prints and invalid lines */
+    private static void writeCommands(File file, List<String> names, int commands, Random random) throws IOException {
+        try (PrintWriter out = new PrintWriter(new FileWriter(file))) {
+            for (int i = 0; i < commands; i++) {
+                String name = random.nextInt(20) == 0 ? "Nobody " + i : names.get(random.nextInt(names.size()));
+                int roll = random.nextInt(1000);
+                if (roll < 400) {
+                    out.println("insert " + name);
+                } else if (roll < 750) {
+                    out.println("search  " + name.toLowerCase());
+                } else if (roll < 950) {
+                    out.println("   remove " + name);
+                } else if (roll < 952) {
+                    out.println("print");
+                } else {
+                    out.println("bogus " + name);
+                }
+            }
+        }
+    }
+}
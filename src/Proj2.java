@@ -5,20 +5,113 @@
  * @date: October 19, 2025
  */
 import java.io.*;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
 import java.util.Collections;
+import java.util.function.Consumer;
 
 public class Proj2 {
     public static void main(String[] args) throws IOException {
         // Use command line arguments to specify the input file
-        if (args.length != 2) {
-            System.err.println("Usage: java TestAvl <input file> <number of lines>");
+        if (args.length < 2) {
+            System.err.println("Usage: java Proj2 <input file> <number of lines> [--stats] [--latency] [--memory]"
+                    + " [--order=<order>] [--lookup=<lookup>] [--mix=<insert/search/remove>] [--seed=<seed>]");
+            System.err.println("       java Proj2 <input file> <N,N,...> --sweep [--reps=<count>] [--baseline=<file>]"
+                    + " [--tolerance=<fraction>] [--order=<order>] [--lookup=<lookup>] [--seed=<seed>]");
+            System.err.println("  orders: sorted, random, nearly-sorted, reverse, zigzag, sawtooth (default random)");
+            System.err.println("  lookups: dataset, uniform, zipf, miss-heavy (default dataset)");
+            System.err.println("  --sweep times every N (--reps times each, default 3) into sweep.txt and sweep-fit.txt;"
+                    + " with --baseline it exits with status 2 if anything regressed by more than --tolerance"
+                    + " (default 0.25)");
             System.exit(1);
         }
 
         String inputFileName = args[0];
-        int numLines = Integer.parseInt(args[1]);
+
+        /* Optional flags after the two required arguments */
+        boolean withStats = false;
+        boolean withLatency = false;
+        boolean withMemory = false;
+        Workload.Order order = Workload.Order.RANDOM;
+        Workload.Lookup lookup = Workload.Lookup.DATASET;
+        int[] mix = null;
+        long seed = 42L;
+        boolean sweep = false;
+        int reps = 3;
+        File baseline = null;
+        double tolerance = 0.25;
+        try {
+            for (int i = 2; i < args.length; i++) {
+                if (args[i].equals("--stats")) {
+                    withStats = true;                       // Count comparisons, rotations and path lengths
+                } else if (args[i].equals("--latency")) {
+                    withLatency = true;                     // Per-operation latency histograms into latency.txt
+                } else if (args[i].equals("--memory")) {
+                    withMemory = true;                      // Retained heap and allocation into memory.txt
+                } else if (args[i].startsWith("--order=")) {
+                    order = Workload.parse(Workload.Order.class, args[i].substring(8));   // Second tree pair's order
+                } else if (args[i].startsWith("--lookup=")) {
+                    lookup = Workload.parse(Workload.Lookup.class, args[i].substring(9)); // Search key distribution
+                } else if (args[i].startsWith("--mix=")) {
+                    mix = Workload.parseMix(args[i].substring(6));                        // Adds a mixed phase
+                } else if (args[i].startsWith("--seed=")) {
+                    seed = Long.parseLong(args[i].substring(7));
+                } else if (args[i].equals("--sweep")) {
+                    sweep = true;                           // Every N in one run, with curve fits
+                } else if (args[i].startsWith("--reps=")) {
+                    reps = Integer.parseInt(args[i].substring(7));
+                } else if (args[i].startsWith("--baseline=")) {
+                    baseline = new File(args[i].substring(11));                         // An earlier sweep.txt
+                } else if (args[i].startsWith("--tolerance=")) {
+                    tolerance = Double.parseDouble(args[i].substring(12));
+                } else {
+                    System.err.println("Unknown option: " + args[i]);
+                    System.exit(1);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid option: " + e.getMessage());
+            System.exit(1);
+        }
+
+        /* The second argument is one N, or a list of them for a sweep */
+        int[] sizes = null;
+        try {
+            sizes = Arrays.stream(args[1].split(",")).mapToInt(n -> Integer.parseInt(n.trim())).toArray();
+        } catch (NumberFormatException e) {
+            System.err.println("Invalid number of lines: " + args[1]);
+            System.exit(1);
+        }
+        if (!sweep && sizes.length != 1) {
+            System.err.println("Several values of N need --sweep");
+            System.exit(1);
+        }
+        if (sweep && (withStats || withLatency || withMemory || mix != null)) {
+            System.err.println("--sweep times inserts and searches only; run --stats, --latency, --memory and --mix"
+                    + " without it");
+            System.exit(1);
+        }
+        if (baseline != null && !sweep) {
+            System.err.println("--baseline needs --sweep");
+            System.exit(1);
+        }
+        if (reps < 1 || tolerance < 0 || Arrays.stream(sizes).anyMatch(n -> n < 1)) {
+            System.err.println("N and --reps must be at least 1, and --tolerance at least 0");
+            System.exit(1);
+        }
+        int numLines = Arrays.stream(sizes).max().getAsInt();
+        Workload workload = new Workload(order, lookup, mix, seed);
+        String orderName = Workload.name(order);
+        String label = Character.toUpperCase(orderName.charAt(0)) + orderName.substring(1);
 
         // For file input
         FileInputStream inputFileNameStream = null;
@@ -41,19 +134,38 @@ public class Proj2 {
         }
         inputFileNameScanner.close();
         inputFileNameStream.close();
+        if (dataSet.size() < numLines) {
+            if (sweep) {
+                System.err.printf("The file has only %d lines, fewer than N=%d\n", dataSet.size(), numLines);
+                System.exit(1);
+            }
+            System.err.printf("The file has only %d lines; using N=%d\n", dataSet.size(), dataSet.size());
+            numLines = dataSet.size();
+        }
+
+        if (sweep) {
+            runSweep(dataSet, sizes, reps, workload, baseline, tolerance, args);
+            return;
+        }
 
         /* Make array list for sorted and randomized order */
         ArrayList<String> sorted = new ArrayList<>(dataSet);
         Collections.sort(sorted);
 
-        ArrayList<String> randomized = new ArrayList<>(dataSet);
-        Collections.shuffle(randomized);
+        List<String> randomized = workload.insertOrder(dataSet);
+        List<String> lookups = workload.lookups(dataSet, dataSet.size(), Proj2::absent);
 
         /* Build four trees BST, AVL for sorted/randomized */
         BST<String> bstSort = new BST<>();
         BST<String> bstRan = new BST<>();
         AvlTree<String> avlSort = new AvlTree<>();
         AvlTree<String> avlRan = new AvlTree<>();
+        if (withStats) {
+            bstSort.setStats(new TreeStats());
+            bstRan.setStats(new TreeStats());
+            avlSort.setStats(new TreeStats());
+            avlRan.setStats(new TreeStats());
+        }
 
         long start;
         long end;
@@ -90,28 +202,28 @@ public class Proj2 {
         /* Search Time */
         start = System.nanoTime();
         for (int i = 0; i < numLines; i++) {
-            bstSort.search(dataSet.get(i));
+            bstSort.search(lookups.get(i));
         }
         end = System.nanoTime();
         long bstSortSearch = end - start;
 
         start = System.nanoTime();
         for (int i = 0; i < numLines; i++) {
-            bstRan.search(dataSet.get(i));
+            bstRan.search(lookups.get(i));
         }
         end = System.nanoTime();
         long bstRanSearch = end - start;
 
         start = System.nanoTime();
         for (int i = 0; i < numLines; i++) {
-            avlSort.contains(dataSet.get(i));
+            avlSort.contains(lookups.get(i));
         }
         end = System.nanoTime();
         long avlSortSearch = end - start;
 
         start = System.nanoTime();
         for (int i = 0; i < numLines; i++) {
-            avlRan.contains(dataSet.get(i));
+            avlRan.contains(lookups.get(i));
         }
         end = System.nanoTime();
         long avlRanSearch = end - start;
@@ -127,18 +239,42 @@ public class Proj2 {
         double avlRanSearchSecond = avlRanSearch / 1_000_000_000.0;
 
         /* Print out results on screen */
+        System.out.println("Workload: " + workload.describe());
         System.out.println("===========Insertion Time===========");
         System.out.printf("Number of lines: %d\n", numLines);
         System.out.printf("Sorted BST: %.6f seconds\n", bstSortInsertSecond);
-        System.out.printf("Randomized BST: %.6f seconds\n", bstRanInsertSecond);
+        System.out.printf("%s BST: %.6f seconds\n", label, bstRanInsertSecond);
         System.out.printf("Sorted AVL: %.6f seconds\n", avlSortInsertSecond);
-        System.out.printf("Randomized AVL: %.6f seconds\n", avlRanInsertSecond);
+        System.out.printf("%s AVL: %.6f seconds\n", label, avlRanInsertSecond);
         System.out.println("===========Search Time===========");
         System.out.printf("Number of lines: %d\n", numLines);
         System.out.printf("Sorted BST: %.6f seconds\n", bstSortSearchSecond);
-        System.out.printf("Randomized BST: %.6f seconds\n", bstRanSearchSecond);
+        System.out.printf("%s BST: %.6f seconds\n", label, bstRanSearchSecond);
         System.out.printf("Sorted AVL: %.6f seconds\n", avlSortSearchSecond);
-        System.out.printf("Randomized AVL: %.6f seconds\n", avlRanSearchSecond);
+        System.out.printf("%s AVL: %.6f seconds\n", label, avlRanSearchSecond);
+
+        if (workload.hasMix()) {
+            /* Mixed phase on the built trees: one shared sequence of inserts, searches and removes */
+            List<Workload.Step<String>> steps = workload.mixed(dataSet, dataSet.size(), Proj2::absent);
+            System.out.println("===========Mixed Time===========");
+            System.out.printf("Number of operations: %d\n", steps.size());
+            System.out.printf("Sorted BST: %.6f seconds\n",
+                    runMixed(steps, bstSort::insert, bstSort::search, bstSort::remove) / 1_000_000_000.0);
+            System.out.printf("%s BST: %.6f seconds\n", label,
+                    runMixed(steps, bstRan::insert, bstRan::search, bstRan::remove) / 1_000_000_000.0);
+            System.out.printf("Sorted AVL: %.6f seconds\n",
+                    runMixed(steps, avlSort::insert, avlSort::contains, avlSort::remove) / 1_000_000_000.0);
+            System.out.printf("%s AVL: %.6f seconds\n", label,
+                    runMixed(steps, avlRan::insert, avlRan::contains, avlRan::remove) / 1_000_000_000.0);
+        }
+
+        if (withStats) {
+            System.out.println("===========Tree Statistics===========");
+            System.out.println("Sorted BST:\n" + bstSort.getStats().snapshot());
+            System.out.println(label + " BST:\n" + bstRan.getStats().snapshot());
+            System.out.println("Sorted AVL:\n" + avlSort.getStats().snapshot());
+            System.out.println(label + " AVL:\n" + avlRan.getStats().snapshot());
+        }
 
         /* Make CSV style output file */
         File out = new File("output.txt");
@@ -146,11 +282,16 @@ public class Proj2 {
 
         String header = String.join(",", "N", "bstSortInsertSecond", "bstRanInsertSecond", "avlSortInsertSecond", "avlRanInsertSecond"
         , "bstSortSearchSecond", "bstRanSearchSecond", "avlSortSearchSecond", "avlRanSearchSecond", "bstSortInsertRate", "bstRanInsertRate"
-        , "avlSortInsertRate", "avlRanInsertRate");
-        String output = String.format("%d,%.9f,%.9f,%.9f,%.9f,%.9f,%.9f,%.9f,%.9f,%.9e,%.9e,%.9e,%.9e,%.9e,%.9e,%.9e,%.9e", numLines
+        , "avlSortInsertRate", "avlRanInsertRate", "bstSortSearchRate", "bstRanSearchRate", "avlSortSearchRate", "avlRanSearchRate"
+        , "order", "lookup", "mix", "seed");
+        if (!writeHeader) {
+            fixHeader(out, header);
+        }
+        String output = String.format("%d,%.9f,%.9f,%.9f,%.9f,%.9f,%.9f,%.9f,%.9f,%.9e,%.9e,%.9e,%.9e,%.9e,%.9e,%.9e,%.9e,%s,%s,%s,%d", numLines
         ,bstSortInsertSecond, bstRanInsertSecond, avlSortInsertSecond, avlRanInsertSecond, bstSortSearchSecond, bstRanSearchSecond
         , avlSortSearchSecond, avlRanSearchSecond, bstSortInsertSecond/numLines, bstRanInsertSecond/numLines, avlSortInsertSecond/numLines,
-                avlRanInsertSecond/numLines, bstSortSearchSecond/numLines, bstRanSearchSecond/numLines, avlSortSearchSecond/numLines, avlRanSearchSecond/numLines);
+                avlRanInsertSecond/numLines, bstSortSearchSecond/numLines, bstRanSearchSecond/numLines, avlSortSearchSecond/numLines, avlRanSearchSecond/numLines,
+                Workload.name(workload.getOrder()), Workload.name(workload.getLookup()), workload.describeMix(), workload.getSeed());
 
         try (FileWriter writer = new FileWriter("output.txt", true)) {
             if (writeHeader) writer.write(header + "\n");
@@ -158,5 +299,320 @@ public class Proj2 {
         } catch (IOException e) {
             System.out.println("Error writing to file: " + e.getMessage());
         }
+
+        if (withLatency) {
+            reportLatency(numLines, dataSet, sorted, randomized, lookups, workload);
+        }
+
+        if (withMemory) {
+            reportMemory(numLines, dataSet, sorted, randomized, workload);
+        }
+    }
+
+    /*
+     * Calls an operation on every key in order and returns the elapsed nanoseconds. Only the sweep uses it: the
+     * call site sees every tree's operation, so the single run keeps one inline loop per tree, as output.txt always has
+     */
+    private static long time(List<String> keys, Consumer<String> operation) {
+        long start = System.nanoTime();
+        for (String key : keys) {
+            operation.accept(key);
+        }
+        return System.nanoTime() - start;
+    }
+
+    /*
+     * Replaces the header of an existing output.txt if it is an older one (13 names over 17 values, or no workload
+     * columns); rows with fewer values than the new header are padded with empty workload fields, since the run
+     * that wrote them did not record it
+     */
+    private static void fixHeader(File out, String header) {
+        try {
+            List<String> lines = Files.readAllLines(out.toPath());
+            if (!lines.isEmpty() && !lines.get(0).equals(header) && lines.get(0).startsWith("N,")) {
+                int columns = header.split(",").length;
+                lines.set(0, header);
+                for (int i = 1; i < lines.size(); i++) {
+                    int values = lines.get(i).split(",", -1).length;
+                    if (!lines.get(i).isEmpty() && values < columns) {
+                        lines.set(i, lines.get(i) + ",".repeat(columns - values));
+                    }
+                }
+                Files.write(out.toPath(), lines);
+            }
+        } catch (IOException e) {
+            System.out.println("Error updating file header: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Times inserting and searching every key for each N, reps times, on fresh trees (the sorted and workload-ordered
+     * BST and AVL pairs of a normal run). Repetitions are interleaved across N so drift over the run spreads evenly,
+     * after one untimed pass to warm up the JIT. Writes the medians to sweep.txt and the n log n and n^2 fits to
+     * sweep-fit.txt, both headed by JVM and run metadata. With a baseline (an earlier sweep.txt), flags medians more
+     * than tolerance slower and growth that went from n log n to n^2, and exits with status 2 if there are any.
+     */
+    private static void runSweep(List<String> dataSet, int[] sizes, int reps, Workload workload, File baseline,
+                                 double tolerance, String[] args) throws IOException {
+        String order = Workload.name(workload.getOrder());
+        ScalingSweep sweep = new ScalingSweep();
+        System.out.println("Workload: " + workload.describe());
+        System.out.printf("Sweep: N=%s, %d repetitions\n", Arrays.toString(sizes), reps);
+        sweepOnce(dataSet.subList(0, sizes[0]), workload, order, null);
+        for (int rep = 0; rep < reps; rep++) {
+            for (int n : sizes) {
+                sweepOnce(dataSet.subList(0, n), workload, order, sweep);
+            }
+        }
+
+        Map<String, String> metadata = runMetadata(args, workload, sizes, reps);
+        List<ScalingSweep.Row> rows = sweep.rows();
+        List<ScalingSweep.Fit> fits = ScalingSweep.fit(rows);
+        System.out.println("===========Sweep Results (median seconds)===========");
+        for (ScalingSweep.Row row : rows) {
+            System.out.printf("N=%d %s %s %s: %.6f seconds (%.1f ns per operation)\n", row.n, row.order, row.tree,
+                    row.operation, row.medianSeconds, row.medianSeconds * 1e9 / row.n);
+        }
+        System.out.println("===========Growth Fits===========");
+        for (ScalingSweep.Fit fit : fits) {
+            System.out.printf("%s %s %s: %s (R^2 n log n %.4f, n^2 %.4f; exponent %.2f)\n", fit.order, fit.tree,
+                    fit.operation, fit.best(), fit.nLogNR2, fit.quadraticR2, fit.exponent);
+        }
+        try {
+            ScalingSweep.write(new File("sweep.txt"), metadata, rows);
+            ScalingSweep.writeFits(new File("sweep-fit.txt"), metadata, fits);
+        } catch (IOException e) {
+            System.out.println("Error writing to file: " + e.getMessage());
+        }
+
+        if (baseline != null) {
+            List<ScalingSweep.Row> before = ScalingSweep.read(baseline);
+            Map<String, String> beforeMetadata = ScalingSweep.readMetadata(baseline);
+            System.out.printf("===========Baseline: %s (%s)===========\n", baseline,
+                    beforeMetadata.getOrDefault("date", "undated"));
+            for (String key : List.of("java.version", "java.vm.name", "os.arch", "processors", "gc", "workload")) {
+                if (!metadata.get(key).equals(beforeMetadata.getOrDefault(key, metadata.get(key)))) {
+                    System.out.printf("note: %s differs (baseline %s, now %s)\n", key, beforeMetadata.get(key),
+                            metadata.get(key));
+                }
+            }
+            int regressions = 0;
+            List<ScalingSweep.Comparison> comparisons = ScalingSweep.compare(rows, before, tolerance);
+            for (ScalingSweep.Comparison comparison : comparisons) {
+                System.out.println(comparison);
+                regressions += comparison.regression ? 1 : 0;
+            }
+            for (String growth : ScalingSweep.growthRegressions(fits, ScalingSweep.fit(before))) {
+                System.out.println("GROWTH REGRESSION " + growth);
+                regressions++;
+            }
+            System.out.printf("%d of %d measurements compared; %d regressions (tolerance %.0f%%)\n",
+                    comparisons.size(), rows.size(), regressions, tolerance * 100);
+            if (regressions > 0) {
+                System.exit(2);
+            }
+        }
+    }
+
+    /* Builds the four trees on the keys and times inserting and searching them; records into sweep unless null */
+    private static void sweepOnce(List<String> dataSet, Workload workload, String order, ScalingSweep sweep) {
+        List<String> sorted = new ArrayList<>(dataSet);
+        Collections.sort(sorted);
+        List<String> randomized = workload.insertOrder(dataSet);
+        List<String> lookups = workload.lookups(dataSet, dataSet.size(), Proj2::absent);
+        int n = dataSet.size();
+
+        BST<String> bstSort = new BST<>();
+        BST<String> bstRan = new BST<>();
+        AvlTree<String> avlSort = new AvlTree<>();
+        AvlTree<String> avlRan = new AvlTree<>();
+        long[] nanos = {
+                time(sorted, bstSort::insert), time(randomized, bstRan::insert),
+                time(sorted, avlSort::insert), time(randomized, avlRan::insert),
+                time(lookups, bstSort::search), time(lookups, bstRan::search),
+                time(lookups, avlSort::contains), time(lookups, avlRan::contains)};
+        if (sweep == null) {
+            return;
+        }
+        String[] trees = {"BST", "BST", "AVL", "AVL"};
+        String[] orders = {"sorted", order, "sorted", order};
+        for (int i = 0; i < nanos.length; i++) {
+            sweep.record(n, trees[i % 4], orders[i % 4], i < 4 ? "insert" : "search", nanos[i]);
+        }
+    }
+
+    /* Describes the JVM, the machine and the run for the head of the sweep files */
+    private static Map<String, String> runMetadata(String[] args, Workload workload, int[] sizes, int reps) {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put("date", Instant.now().toString());
+        for (String property : List.of("java.version", "java.vendor", "java.vm.name", "java.vm.version", "os.name",
+                "os.version", "os.arch")) {
+            metadata.put(property, System.getProperty(property, "unknown"));
+        }
+        metadata.put("processors", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        metadata.put("maxHeapBytes", String.valueOf(Runtime.getRuntime().maxMemory()));
+        List<String> collectors = new ArrayList<>();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            collectors.add(collector.getName());
+        }
+        metadata.put("gc", String.join("+", collectors));
+        metadata.put("jvmArgs", String.join(" ", ManagementFactory.getRuntimeMXBean().getInputArguments()));
+        metadata.put("args", String.join(" ", args));
+        metadata.put("workload", workload.describe());
+        metadata.put("sizes", Arrays.toString(sizes));
+        metadata.put("reps", String.valueOf(reps));
+        return metadata;
+    }
+
+    /* Runs a mixed sequence against one tree and returns the elapsed nanoseconds */
+    private static long runMixed(List<Workload.Step<String>> steps, Consumer<String> insert,
+                                 Consumer<String> search, Consumer<String> remove) {
+        long start = System.nanoTime();
+        for (Workload.Step<String> step : steps) {
+            switch (step.op) {
+                case INSERT -> insert.accept(step.key);
+                case SEARCH -> search.accept(step.key);
+                default -> remove.accept(step.key);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    /* Returns a key that is not in the dataset but sorts right after the given one, so a miss walks a full path */
+    private static String absent(String key) {
+        return key + "\u0000";
+    }
+
+    /**
+     * Times every insert, search and remove individually on fresh trees and appends percentile rows
+     * (one per tree, order and operation, tagged with the workload) to latency.txt. This runs after the aggregate
+     * timings so the extra nanoTime calls do not skew them.
+     */
+    private static void reportLatency(int numLines, List<String> dataSet, List<String> sorted, List<String> randomized,
+                                      List<String> lookups, Workload workload) {
+        String order = Workload.name(workload.getOrder());
+        List<String> rows = new ArrayList<>();
+        BST<String> bstSort = new BST<>();
+        rows.addAll(measureLatency(numLines, "BST", "sorted", sorted, lookups, dataSet, workload,
+                bstSort::insert, bstSort::search, bstSort::remove));
+        BST<String> bstRan = new BST<>();
+        rows.addAll(measureLatency(numLines, "BST", order, randomized, lookups, dataSet, workload,
+                bstRan::insert, bstRan::search, bstRan::remove));
+        AvlTree<String> avlSort = new AvlTree<>();
+        rows.addAll(measureLatency(numLines, "AVL", "sorted", sorted, lookups, dataSet, workload,
+                avlSort::insert, avlSort::contains, avlSort::remove));
+        AvlTree<String> avlRan = new AvlTree<>();
+        rows.addAll(measureLatency(numLines, "AVL", order, randomized, lookups, dataSet, workload,
+                avlRan::insert, avlRan::contains, avlRan::remove));
+
+        File out = new File("latency.txt");
+        boolean writeHeader = !out.exists();
+        try (FileWriter writer = new FileWriter(out, true)) {
+            if (writeHeader) {
+                writer.write("N,tree,order,operation,count,meanNanos,p50Nanos,p99Nanos,p999Nanos,maxNanos,workload\n");
+            }
+            for (String row : rows) {
+                writer.write(row + "\n");
+            }
+        } catch (IOException e) {
+            System.out.println("Error writing to file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Measures the memory cost of each tree on fresh instances and appends one row per tree and order to memory.txt:
+     * the heap retained by the tree once built (the keys are shared with the dataset, so this is the nodes and the
+     * tree object), bytes per element, and bytes allocated per insert and per remove.
+     */
+    private static void reportMemory(int numLines, List<String> dataSet, List<String> sorted, List<String> randomized,
+                                     Workload workload) {
+        String order = Workload.name(workload.getOrder());
+        List<String> rows = new ArrayList<>();
+        System.out.println("===========Memory===========");
+        if (!MemoryProbe.allocationTrackingSupported()) {
+            System.out.println("(this JVM cannot report allocated bytes; allocation columns are -1)");
+        }
+        BST<String> bstSort = new BST<>();
+        rows.add(measureMemory(numLines, "BST", "sorted", sorted, dataSet, workload, bstSort,
+                bstSort::insert, bstSort::remove));
+        BST<String> bstRan = new BST<>();
+        rows.add(measureMemory(numLines, "BST", order, randomized, dataSet, workload, bstRan,
+                bstRan::insert, bstRan::remove));
+        AvlTree<String> avlSort = new AvlTree<>();
+        rows.add(measureMemory(numLines, "AVL", "sorted", sorted, dataSet, workload, avlSort,
+                avlSort::insert, avlSort::remove));
+        AvlTree<String> avlRan = new AvlTree<>();
+        rows.add(measureMemory(numLines, "AVL", order, randomized, dataSet, workload, avlRan,
+                avlRan::insert, avlRan::remove));
+
+        File out = new File("memory.txt");
+        boolean writeHeader = !out.exists();
+        try (FileWriter writer = new FileWriter(out, true)) {
+            if (writeHeader) {
+                writer.write("N,tree,order,retainedBytes,bytesPerElement,allocBytesPerInsert,allocBytesPerRemove,"
+                        + "workload\n");
+            }
+            for (String row : rows) {
+                writer.write(row + "\n");
+            }
+        } catch (IOException e) {
+            System.out.println("Error writing to file: " + e.getMessage());
+        }
+    }
+
+    /* Builds an empty tree up in the given order and tears it down in dataset order, measuring heap and allocation */
+    private static String measureMemory(int numLines, String tree, String order, List<String> insertOrder,
+                                        List<String> dataSet, Workload workload, Object treeObject,
+                                        Consumer<String> insert, Consumer<String> remove) {
+        long before = MemoryProbe.usedHeapAfterGc();
+        long allocated = MemoryProbe.allocatedBytes();
+        for (String key : insertOrder) {
+            insert.accept(key);
+        }
+        long insertBytes = MemoryProbe.allocatedBytes() - allocated;
+        long retained = MemoryProbe.usedHeapAfterGc() - before;
+        Reference.reachabilityFence(treeObject);            // the tree must still be live when the heap is read
+
+        allocated = MemoryProbe.allocatedBytes();
+        for (String key : dataSet) {
+            remove.accept(key);
+        }
+        long removeBytes = MemoryProbe.allocatedBytes() - allocated;
+        boolean tracked = MemoryProbe.allocationTrackingSupported();
+        double perInsert = tracked ? (double) insertBytes / insertOrder.size() : -1;
+        double perRemove = tracked ? (double) removeBytes / dataSet.size() : -1;
+        double perElement = (double) retained / insertOrder.size();
+
+        System.out.printf("%s %s: retained %d bytes (%.1f per element), allocated %.1f bytes per insert,"
+                + " %.1f per remove\n", order, tree, retained, perElement, perInsert, perRemove);
+        return String.format("%d,%s,%s,%d,%.1f,%.1f,%.1f,%s", numLines, tree, order, retained, perElement,
+                perInsert, perRemove, workload.describe());
+    }
+
+    /* Inserts in the given order, searches the lookup keys, then removes in dataset order, timing each call */
+    private static List<String> measureLatency(int numLines, String tree, String order, List<String> insertOrder,
+                                               List<String> lookups, List<String> dataSet, Workload workload,
+                                               Consumer<String> insert, Consumer<String> search,
+                                               Consumer<String> remove) {
+        String[] operations = {"insert", "search", "remove"};
+        List<Consumer<String>> calls = List.of(insert, search, remove);
+        List<String> rows = new ArrayList<>();
+        System.out.printf("===========Latency: %s %s===========\n", order, tree);
+        for (int op = 0; op < operations.length; op++) {
+            List<String> keys = (op == 0) ? insertOrder : (op == 1) ? lookups : dataSet;
+            Consumer<String> call = calls.get(op);
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (String key : keys) {
+                long start = System.nanoTime();
+                call.accept(key);
+                histogram.record(System.nanoTime() - start);
+            }
+            System.out.printf("%s: %s\n", operations[op], histogram);
+            rows.add(String.format("%d,%s,%s,%s,%d,%.1f,%d,%d,%d,%d,%s", numLines, tree, order, operations[op],
+                    histogram.getCount(), histogram.getMean(), histogram.getValueAtPercentile(50),
+                    histogram.getValueAtPercentile(99), histogram.getValueAtPercentile(99.9), histogram.getMax(),
+                    workload.describe()));
+        }
+        return rows;
     }
 }
\ No newline at end of file
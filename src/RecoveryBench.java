@@ -0,0 +1,131 @@
+/**
+ * @file: RecoveryBench.java
+ * @description: Measures the write-ahead log on synthetic F1 driver records: append throughput for several group
+ * commit sizes, then recovery time after a long run of inserts and removes, replaying the whole log versus loading
+ * the last checkpoint and replaying only the tail.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.io.DataInput;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+public class RecoveryBench {
+    private static final int[] GROUP_SIZES = {1, 16, 256};
+    private static final int REMOVE_PERCENT = 30;
+
+    public static void main(String[] args) throws IOException {
+        // Usage: java RecoveryBench [operations] [checkpoint interval] [records] [seed]
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int interval = args.length > 1 ? Integer.parseInt(args[1]) : 120_000;
+        int records = args.length > 2 ? Integer.parseInt(args[2]) : 200_000;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42L;
+
+        Random random = new Random(seed);
+        List<F1> drivers = new ArrayList<>(records);
+        for (int i = 0; i < records; i++) {
+            drivers.add(new F1("Driver " + i, "Nowhere", new String[] {String.valueOf(1950 + random.nextInt(75))},
+                    random.nextInt(8), random.nextInt(110), random.nextInt(200), random.nextInt(5000) / 2.0));
+        }
+
+        System.out.println("===========Recovery Benchmark===========");
+        System.out.printf("operations: %d, checkpoint interval: %d, records: %d, seed: %d\n",
+                operations, interval, records, seed);
+
+        System.out.println("groupSize,appendsPerSecond,syncs");
+        for (int groupSize : GROUP_SIZES) {
+            int appends = Math.min(operations, 2_000 * groupSize);    // fsync per record is slow; keep it short
+            File directory = Files.createTempDirectory("oplog").toFile();
+            long start = System.nanoTime();
+            long syncs = run(directory, drivers, appends, groupSize, Integer.MAX_VALUE, seed);
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            System.out.printf("%d,%.0f,%d\n", groupSize, appends / seconds, syncs);
+            delete(directory);
+        }
+
+        System.out.println("mode,loggedOperations,replayedOperations,recoveryMillis,treeSize");
+        File full = Files.createTempDirectory("oplog").toFile();
+        File checkpointed = Files.createTempDirectory("oplog").toFile();
+        run(full, drivers, operations, 256, Integer.MAX_VALUE, seed);
+        run(checkpointed, drivers, operations, 256, interval, seed);
+        /* The first pass only warms up the JIT */
+        for (int pass = 0; pass < 2; pass++) {
+            for (File directory : new File[] {full, checkpointed}) {
+                BST<F1> tree = new BST<>();
+                long start = System.nanoTime();
+                long replayed = recover(directory, tree);
+                double millis = (System.nanoTime() - start) / 1e6;
+                if (pass == 1) {
+                    System.out.printf("%s,%d,%d,%.1f,%d\n", directory == full ? "full log" : "checkpoint+tail",
+                            operations, replayed, millis, count(tree));
+                }
+            }
+        }
+        delete(full);
+        delete(checkpointed);
+    }
+
+    /* applies a random insert/remove mix to a tree, logging each change; returns the number of fsyncs */
+    private static long run(File directory, List<F1> drivers, int operations, int groupSize, int interval, long seed)
+            throws IOException {
+        Random random = new Random(seed);
+        BST<F1> tree = new BST<>();
+        F1Codec codec = new F1Codec();
+        try (OperationLog<F1> log = new OperationLog<>(directory, codec, groupSize)) {
+            log.recover(recovery(tree));
+            for (int i = 0; i < operations; i++) {
+                F1 x = drivers.get(random.nextInt(drivers.size()));
+                if (random.nextInt(100) < REMOVE_PERCENT) {
+                    tree.remove(x);
+                    log.append(OperationLog.REMOVE, x);
+                } else {
+                    tree.insert(x);
+                    log.append(OperationLog.INSERT, x);
+                }
+                if (log.sinceCheckpoint() >= interval) {
+                    log.checkpoint(out -> tree.writeSnapshot(out, codec));
+                }
+            }
+            log.commit();
+            return log.syncs();
+        }
+    }
+
+    /* rebuilds a tree from a log directory; returns the number of log records replayed */
+    private static long recover(File directory, BST<F1> tree) throws IOException {
+        try (OperationLog<F1> log = new OperationLog<>(directory, new F1Codec(), 256)) {
+            return log.recover(recovery(tree));
+        }
+    }
+
+    /* applies a checkpoint and logged changes to the given tree */
+    private static OperationLog.Recovery<F1> recovery(BST<F1> tree) {
+        F1Codec codec = new F1Codec();
+        return new OperationLog.Recovery<F1>() {
+            public void restore(DataInput checkpoint) throws IOException { tree.readSnapshot(checkpoint, codec); }
+            public void insert(F1 x) { tree.insert(x); }
+            public void remove(F1 x) { tree.remove(x); }
+        };
+    }
+
+    /* counts the drivers in a tree */
+    private static int count(BST<F1> tree) {
+        int count = 0;
+        for (F1 ignored : tree) {
+            count++;
+        }
+        return count;
+    }
+
+    /* deletes a temporary log directory */
+    private static void delete(File directory) throws IOException {
+        try (var files = Files.walk(directory.toPath())) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * @file: RedBlackBench.java
+ * @description: Compares AVL and red-black trees on a churn workload: the tree is filled to N keys and then hit with
+ * a random mix of inserts and removes. Reports rotations per operation and throughput for each tree. Both trees
+ * carry TreeStats counters during the churn phase, so the timings include the same instrumentation overhead.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.util.Random;
+
+public class RedBlackBench {
+    public static void main(String[] args) {
+        // Usage: java RedBlackBench [N] [operations] [seed]
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int ops = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+
+        /* Keys are drawn from twice the fill size so about half the inserts and removes hit */
+        int[] keys = new int[ops];
+        boolean[] isInsert = new boolean[ops];
+        Random random = new Random(seed);
+        for (int i = 0; i < ops; i++) {
+            keys[i] = random.nextInt(2 * n);
+            isInsert[i] = random.nextBoolean();
+        }
+
+        /* First round warms up the JIT; the second is reported */
+        for (int round = 0; round < 2; round++) {
+            AvlTree<Integer> avl = new AvlTree<>();
+            RedBlackTree<Integer> rb = new RedBlackTree<>();
+            for (int i = 0; i < 2 * n; i += 2) {
+                avl.insert(i);
+                rb.insert(i);
+            }
+            TreeStats avlStats = new TreeStats();
+            TreeStats rbStats = new TreeStats();
+            avl.setStats(avlStats);
+            rb.setStats(rbStats);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ops; i++) {
+                if (isInsert[i]) {
+                    avl.insert(keys[i]);
+                } else {
+                    avl.remove(keys[i]);
+                }
+            }
+            long avlTime = System.nanoTime() - start;
+            long avlRotations = avlStats.getSingleRotations();
+
+            start = System.nanoTime();
+            for (int i = 0; i < ops; i++) {
+                if (isInsert[i]) {
+                    rb.insert(keys[i]);
+                } else {
+                    rb.remove(keys[i]);
+                }
+            }
+            long rbTime = System.nanoTime() - start;
+            long rbRotations = rbStats.getSingleRotations();
+
+            if (round == 1) {
+                System.out.println("===========Churn Benchmark===========");
+                System.out.printf("N: %d, operations: %d, seed: %d\n", n, ops, seed);
+                System.out.printf("AVL:       %.4f rotations/op, %.0f ops/second\n",
+                        (double) avlRotations / ops, ops / (avlTime / 1_000_000_000.0));
+                System.out.printf("Red-black: %.4f rotations/op, %.0f ops/second\n",
+                        (double) rbRotations / ops, ops / (rbTime / 1_000_000_000.0));
+            }
+        }
+    }
+}
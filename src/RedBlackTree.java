@@ -0,0 +1,458 @@
+/**
+ * @file: RedBlackTree.java
+ * @description: Defines a red-black tree with the same operations as AvlTree. Rebalancing is done bottom-up with
+ * recoloring, so every insert performs at most two rotations and every remove at most three.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+
+/**
+ * Implements a red-black tree.
+ * Note that all "matching" is based on the compareTo method.
+ */
+public class RedBlackTree<AnyType extends Comparable<? super AnyType>> {
+    /**
+     * Construct the tree.
+     */
+    public RedBlackTree( ) {
+        nullNode = new RedBlackNode<>( null );
+        nullNode.left = nullNode.right = nullNode.parent = nullNode;
+        root = nullNode;
+    }
+
+    /**
+     * Insert into the tree; duplicates are ignored.
+     * @param x the item to insert.
+     */
+    public void insert( AnyType x ) {
+        if( stats != null )
+            stats.begin( TreeStats.Op.INSERT );
+        RedBlackNode<AnyType> parent = nullNode;
+        RedBlackNode<AnyType> t = root;
+        int compareValue = 0;
+        while (t != nullNode) {                                 // Walk down to the insertion point
+            if (stats != null) {
+                stats.visit();
+                stats.compare();
+            }
+            parent = t;
+            compareValue = x.compareTo(t.element);
+            if (compareValue < 0) {
+                t = t.left;
+            } else if (compareValue > 0) {
+                t = t.right;
+            } else {
+                if (stats != null) {
+                    stats.end();
+                }
+                return;                                         // Ignore duplicates
+            }
+        }
+
+        RedBlackNode<AnyType> z = new RedBlackNode<>(x);
+        z.left = z.right = nullNode;
+        z.parent = parent;
+        z.color = RED;                                          // New nodes start red
+        if (parent == nullNode) {
+            root = z;
+        } else if (compareValue < 0) {
+            parent.left = z;
+        } else {
+            parent.right = z;
+        }
+        insertFixup(z);
+        if( stats != null )
+            stats.end( );
+    }
+
+    /**
+     * Remove from the tree. Nothing is done if x is not found.
+     * @param x the item to remove.
+     */
+    public void remove( AnyType x ) {
+        if( stats != null )
+            stats.begin( TreeStats.Op.REMOVE );
+        RedBlackNode<AnyType> z = find(x);
+        if (z == nullNode) {
+            if (stats != null) {
+                stats.end();
+            }
+            return;
+        }
+
+        RedBlackNode<AnyType> y = z;                            // Node actually spliced out
+        boolean removedColor = y.color;
+        RedBlackNode<AnyType> child;
+        if (z.left == nullNode) {
+            child = z.right;
+            transplant(z, z.right);
+        } else if (z.right == nullNode) {
+            child = z.left;
+            transplant(z, z.left);
+        } else {                                                // Node with 2 children
+            y = findMin(z.right);                               // Inorder successor takes z's place
+            removedColor = y.color;
+            child = y.right;
+            if (y.parent == z) {
+                child.parent = y;                               // Also valid when child is the sentinel
+            } else {
+                transplant(y, y.right);
+                y.right = z.right;
+                y.right.parent = y;
+            }
+            transplant(z, y);
+            y.left = z.left;
+            y.left.parent = y;
+            y.color = z.color;
+        }
+        if (removedColor == BLACK) {
+            removeFixup(child);
+        }
+        nullNode.parent = nullNode;
+        if( stats != null )
+            stats.end( );
+    }
+
+    /**
+     * Find the smallest item in the tree.
+     * @return smallest item or null if empty.
+     */
+    public AnyType findMin( ) {
+        if( isEmpty( ) )
+            throw new UnderflowException( );
+        return findMin( root ).element;
+    }
+
+    /**
+     * Find the largest item in the tree.
+     * @return the largest item of null if empty.
+     */
+    public AnyType findMax( ) {
+        if( isEmpty( ) )
+            throw new UnderflowException( );
+        RedBlackNode<AnyType> t = root;
+        while (t.right != nullNode) {                           // Go far right as possible
+            t = t.right;
+        }
+        return t.element;
+    }
+
+    /**
+     * Find an item in the tree.
+     * @param x the item to search for.
+     * @return true if x is found.
+     */
+    public boolean contains( AnyType x ) {
+        if( stats == null )
+            return find( x ) != nullNode;
+        stats.begin( TreeStats.Op.SEARCH );
+        boolean found = find( x ) != nullNode;
+        stats.end( );
+        return found;
+    }
+
+    /**
+     * Make the tree logically empty.
+     */
+    public void makeEmpty( ) {
+        root = nullNode;
+    }
+
+    /**
+     * Test if the tree is logically empty.
+     * @return true if empty, false otherwise.
+     */
+    public boolean isEmpty( ) {
+        return root == nullNode;
+    }
+
+    /**
+     * Print the tree contents in sorted order.
+     */
+    public void printTree( ) {
+        if( isEmpty( ) )
+            System.out.println( "Empty tree" );
+        else
+            printTree( root );
+    }
+
+    /**
+     * Returns the height of the tree (-1 if empty).
+     */
+    public int height( ) {
+        return height( root );
+    }
+
+    private int height( RedBlackNode<AnyType> t ) {
+        return t == nullNode ? -1 : Math.max( height( t.left ), height( t.right ) ) + 1;
+    }
+
+    /**
+     * Attach instrumentation counters to the tree, or detach them with null.
+     * rotateLeft is counted as a rotation with the right child and rotateRight as one with the left child.
+     * @param stats the counters to update on every operation.
+     */
+    public void setStats( TreeStats stats ) {
+        this.stats = stats;
+        if( stats != null )
+            stats.attach( this::height, false );      // a full walk
+    }
+
+    /**
+     * Returns the attached instrumentation counters, or null if none.
+     */
+    public TreeStats getStats( ) {
+        return stats;
+    }
+
+    /**
+     * Checks the red-black properties: black root, no red node with a red child, and
+     * the same number of black nodes on every path. Prints "OOPS!!" on a violation.
+     */
+    public void checkBalance( ) {
+        if( root.color != BLACK )
+            System.out.println( "OOPS!!" );
+        checkBalance( root );
+    }
+
+    private int checkBalance( RedBlackNode<AnyType> t ) {
+        if( t == nullNode )
+            return 1;
+
+        int bl = checkBalance( t.left );
+        int br = checkBalance( t.right );
+        if( bl != br ||
+                ( t.color == RED && ( t.left.color == RED || t.right.color == RED ) ) ||
+                ( t.left != nullNode && t.left.parent != t ) ||
+                ( t.right != nullNode && t.right.parent != t ) )
+            System.out.println( "OOPS!!" );
+
+        return bl + ( t.color == BLACK ? 1 : 0 );
+    }
+
+    /**
+     * Internal method to find the node holding x.
+     * @param x is item to search for.
+     * @return the matching node, or nullNode if x is not in the tree.
+     */
+    private RedBlackNode<AnyType> find( AnyType x ) {
+        RedBlackNode<AnyType> t = root;
+        while (t != nullNode) {
+            if (stats != null) {
+                stats.visit();
+                stats.compare();
+            }
+            int compareValue = x.compareTo(t.element);         // Compares the keys of the nodes
+            if (compareValue < 0) {                             // Go left if x is smaller
+                t = t.left;
+            } else if (compareValue > 0) {                      // Go right if x is bigger
+                t = t.right;
+            } else {
+                return t;                                       // Node found
+            }
+        }
+        return nullNode;                                        // Node not found
+    }
+
+    /**
+     * Internal method to find the smallest item in a non-empty subtree.
+     * @param t the node that roots the tree.
+     * @return node containing the smallest item.
+     */
+    private RedBlackNode<AnyType> findMin( RedBlackNode<AnyType> t ) {
+        while (t.left != nullNode) {                            // Go far left as possible
+            t = t.left;
+        }
+        return t;                                               // Return the left-most element
+    }
+
+    /**
+     * Internal method to print a subtree in (sorted) order.
+     * @param t the node that roots the tree.
+     */
+    private void printTree( RedBlackNode<AnyType> t ) {
+        if (t == nullNode) {
+            return;
+        }
+        printTree(t.left);
+        System.out.println(t.element);                          // In order print of tree
+        printTree(t.right);
+    }
+
+    /**
+     * Restores the red-black properties after inserting the red node z.
+     * Recoloring may move up the tree, but at most two rotations are done.
+     */
+    private void insertFixup( RedBlackNode<AnyType> z ) {
+        while (z.parent.color == RED) {
+            RedBlackNode<AnyType> grand = z.parent.parent;
+            if (z.parent == grand.left) {
+                RedBlackNode<AnyType> uncle = grand.right;
+                if (uncle.color == RED) {                       // Red uncle: recolor and move up
+                    z.parent.color = BLACK;
+                    uncle.color = BLACK;
+                    grand.color = RED;
+                    z = grand;
+                } else {
+                    if (z == z.parent.right) {                  // Left-Right case
+                        z = z.parent;
+                        rotateLeft(z);
+                    }
+                    z.parent.color = BLACK;                     // Left-Left case
+                    grand.color = RED;
+                    rotateRight(grand);
+                }
+            } else {
+                RedBlackNode<AnyType> uncle = grand.left;
+                if (uncle.color == RED) {                       // Red uncle: recolor and move up
+                    z.parent.color = BLACK;
+                    uncle.color = BLACK;
+                    grand.color = RED;
+                    z = grand;
+                } else {
+                    if (z == z.parent.left) {                   // Right-Left case
+                        z = z.parent;
+                        rotateRight(z);
+                    }
+                    z.parent.color = BLACK;                     // Right-Right case
+                    grand.color = RED;
+                    rotateLeft(grand);
+                }
+            }
+        }
+        root.color = BLACK;
+    }
+
+    /**
+     * Restores the red-black properties after a black node was spliced out above x.
+     * Recoloring may move up the tree, but at most three rotations are done.
+     */
+    private void removeFixup( RedBlackNode<AnyType> x ) {
+        while (x != root && x.color == BLACK) {
+            if (x == x.parent.left) {
+                RedBlackNode<AnyType> w = x.parent.right;       // Sibling
+                if (w.color == RED) {                           // Red sibling: rotate to get a black one
+                    w.color = BLACK;
+                    x.parent.color = RED;
+                    rotateLeft(x.parent);
+                    w = x.parent.right;
+                }
+                if (w.left.color == BLACK && w.right.color == BLACK) {
+                    w.color = RED;                              // Both nephews black: push the problem up
+                    x = x.parent;
+                } else {
+                    if (w.right.color == BLACK) {               // Near nephew red
+                        w.left.color = BLACK;
+                        w.color = RED;
+                        rotateRight(w);
+                        w = x.parent.right;
+                    }
+                    w.color = x.parent.color;                   // Far nephew red: terminal rotation
+                    x.parent.color = BLACK;
+                    w.right.color = BLACK;
+                    rotateLeft(x.parent);
+                    x = root;
+                }
+            } else {
+                RedBlackNode<AnyType> w = x.parent.left;        // Sibling
+                if (w.color == RED) {
+                    w.color = BLACK;
+                    x.parent.color = RED;
+                    rotateRight(x.parent);
+                    w = x.parent.left;
+                }
+                if (w.right.color == BLACK && w.left.color == BLACK) {
+                    w.color = RED;
+                    x = x.parent;
+                } else {
+                    if (w.left.color == BLACK) {
+                        w.right.color = BLACK;
+                        w.color = RED;
+                        rotateLeft(w);
+                        w = x.parent.left;
+                    }
+                    w.color = x.parent.color;
+                    x.parent.color = BLACK;
+                    w.left.color = BLACK;
+                    rotateRight(x.parent);
+                    x = root;
+                }
+            }
+        }
+        x.color = BLACK;
+    }
+
+    /**
+     * Replaces the subtree rooted at u with the subtree rooted at v.
+     */
+    private void transplant( RedBlackNode<AnyType> u, RedBlackNode<AnyType> v ) {
+        if (u.parent == nullNode) {
+            root = v;
+        } else if (u == u.parent.left) {
+            u.parent.left = v;
+        } else {
+            u.parent.right = v;
+        }
+        v.parent = u.parent;
+    }
+
+    /**
+     * Rotate binary tree node with right child; k2 takes k1's place.
+     */
+    private void rotateLeft( RedBlackNode<AnyType> k1 ) {
+        RedBlackNode<AnyType> k2 = k1.right;
+        k1.right = k2.left;
+        if (k2.left != nullNode) {
+            k2.left.parent = k1;
+        }
+        transplant(k1, k2);
+        k2.left = k1;
+        k1.parent = k2;
+        if (stats != null) {
+            stats.rotate(TreeStats.Rotation.WITH_RIGHT_CHILD);
+        }
+    }
+
+    /**
+     * Rotate binary tree node with left child; k1 takes k2's place.
+     */
+    private void rotateRight( RedBlackNode<AnyType> k2 ) {
+        RedBlackNode<AnyType> k1 = k2.left;
+        k2.left = k1.right;
+        if (k1.right != nullNode) {
+            k1.right.parent = k2;
+        }
+        transplant(k2, k1);
+        k1.right = k2;
+        k2.parent = k1;
+        if (stats != null) {
+            stats.rotate(TreeStats.Rotation.WITH_LEFT_CHILD);
+        }
+    }
+
+    private static final boolean RED   = true;
+    private static final boolean BLACK = false;
+
+    private static class RedBlackNode<AnyType> {
+        // Constructor
+        RedBlackNode( AnyType theElement ) {
+            element = theElement;
+            color   = BLACK;
+        }
+
+        AnyType               element;  // The data in the node
+        RedBlackNode<AnyType> left;     // Left child
+        RedBlackNode<AnyType> right;    // Right child
+        RedBlackNode<AnyType> parent;   // Parent (nullNode for the root)
+        boolean               color;    // RED or BLACK
+    }
+
+    /** Sentinel standing in for every empty child; always black. */
+    private final RedBlackNode<AnyType> nullNode;
+
+    /** The tree root. */
+    private RedBlackNode<AnyType> root;
+
+    /** Instrumentation counters; null when instrumentation is off. */
+    private TreeStats stats;
+}
@@ -0,0 +1,390 @@
+/**
+ * @file: ScalingSweep.java
+ * @description: Collects the timings of a scaling sweep (every N, tree, insertion order and operation, repeated),
+ * reduces the repetitions to median, min and max, and fits each combination's growth against n log n and n^2.
+ * Results are written as CSV preceded by "# key=value" lines describing the JVM and the run, and can be read back
+ * and compared with a stored baseline to flag regressions in time or in growth.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class ScalingSweep {
+    public static final String HEADER = "N,tree,order,operation,reps,medianSeconds,minSeconds,maxSeconds,nanosPerOp";
+    public static final String FIT_HEADER = "tree,order,operation,sizes,nlognCoefficient,nlognR2,quadraticCoefficient,"
+            + "quadraticR2,exponent,best";
+    public static final String N_LOG_N = "n log n";
+    public static final String QUADRATIC = "n^2";
+
+    /* Differences below this many seconds are noise, whatever the ratio */
+    private static final double MIN_REGRESSION_SECONDS = 0.001;
+
+    private final Map<String, List<Double>> samples = new LinkedHashMap<>();   // "N,tree,order,operation" -> seconds
+
+    /**
+     * Records one repetition of one measurement
+     *
+     * @param n the number of keys.
+     * @param tree the tree, e.g. "AVL".
+     * @param order the insertion order, e.g. "sorted".
+     * @param operation the timed operation, e.g. "insert".
+     * @param nanos the elapsed time for all n operations.
+     */
+    public void record(int n, String tree, String order, String operation, long nanos) {
+        samples.computeIfAbsent(n + "," + tree + "," + order + "," + operation, key -> new ArrayList<>())
+                .add(nanos / 1_000_000_000.0);
+    }
+
+    /* returns one row per recorded measurement, in the order they were first recorded */
+    public List<Row> rows() {
+        List<Row> rows = new ArrayList<>();
+        for (Map.Entry<String, List<Double>> entry : samples.entrySet()) {
+            String[] key = entry.getKey().split(",");
+            List<Double> seconds = new ArrayList<>(entry.getValue());
+            Collections.sort(seconds);
+            int middle = seconds.size() / 2;
+            double median = seconds.size() % 2 == 1 ? seconds.get(middle)
+                    : (seconds.get(middle - 1) + seconds.get(middle)) / 2;
+            rows.add(new Row(Integer.parseInt(key[0]), key[1], key[2], key[3], seconds.size(), median,
+                    seconds.get(0), seconds.get(seconds.size() - 1)));
+        }
+        return rows;
+    }
+
+    /**
+     * Writes the rows as CSV, preceded by one "# key=value" line per metadata entry
+     *
+     * @param file the file to write (replaced if it exists).
+     * @param metadata describes the JVM and the run.
+     * @param rows the rows to write.
+     */
+    public static void write(File file, Map<String, String> metadata, List<Row> rows) throws IOException {
+        try (PrintWriter out = new PrintWriter(new FileWriter(file, StandardCharsets.UTF_8))) {
+            for (Map.Entry<String, String> entry : metadata.entrySet()) {
+                out.println("# " + entry.getKey() + "=" + entry.getValue().replace('\n', ' '));
+            }
+            out.println(HEADER);
+            for (Row row : rows) {
+                out.println(row);
+            }
+        }
+    }
+
+    /**
+     * Writes the fits as CSV, preceded by the same metadata lines as the results
+     *
+     * @param file the file to write (replaced if it exists).
+     * @param metadata describes the JVM and the run.
+     * @param fits the fits to write.
+     */
+    public static void writeFits(File file, Map<String, String> metadata, List<Fit> fits) throws IOException {
+        try (PrintWriter out = new PrintWriter(new FileWriter(file, StandardCharsets.UTF_8))) {
+            for (Map.Entry<String, String> entry : metadata.entrySet()) {
+                out.println("# " + entry.getKey() + "=" + entry.getValue().replace('\n', ' '));
+            }
+            out.println(FIT_HEADER);
+            for (Fit fit : fits) {
+                out.println(fit);
+            }
+        }
+    }
+
+    /**
+     * Reads the rows of a results file written by write()
+     *
+     * @param file the file to read.
+     * @return the rows.
+     * @throws IOException if the file cannot be read or is not a results file.
+     */
+    public static List<Row> read(File file) throws IOException {
+        List<Row> rows = new ArrayList<>();
+        boolean header = false;
+        try (BufferedReader in = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith("#") || line.isBlank()) {
+                    continue;
+                }
+                if (!header) {
+                    if (!line.equals(HEADER)) {
+                        throw new IOException("not a sweep results file: " + file);
+                    }
+                    header = true;
+                    continue;
+                }
+                String[] fields = line.split(",");
+                try {
+                    rows.add(new Row(Integer.parseInt(fields[0]), fields[1], fields[2], fields[3],
+                            Integer.parseInt(fields[4]), Double.parseDouble(fields[5]), Double.parseDouble(fields[6]),
+                            Double.parseDouble(fields[7])));
+                } catch (RuntimeException e) {
+                    throw new IOException("malformed sweep row in " + file + ": " + line);
+                }
+            }
+        }
+        if (!header) {
+            throw new IOException("not a sweep results file: " + file);
+        }
+        return rows;
+    }
+
+    /**
+     * Reads the "# key=value" metadata lines of a file written by write()
+     *
+     * @param file the file to read.
+     * @return the metadata, in file order.
+     */
+    public static Map<String, String> readMetadata(File file) throws IOException {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        try (BufferedReader in = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null && line.startsWith("#")) {
+                int equals = line.indexOf('=');
+                if (equals > 0) {
+                    metadata.put(line.substring(1, equals).trim(), line.substring(equals + 1));
+                }
+            }
+        }
+        return metadata;
+    }
+
+    /**
+     * Fits the median time of each tree, order and operation against c * n log n and c * n^2 (least squares through
+     * the origin), and estimates the growth exponent from the slope of log time against log n. Combinations measured
+     * at fewer than two sizes are skipped.
+     *
+     * @param rows the rows to fit.
+     * @return one fit per combination, in the order the combinations first appear.
+     */
+    public static List<Fit> fit(List<Row> rows) {
+        Map<String, List<Row>> series = new LinkedHashMap<>();
+        for (Row row : rows) {
+            series.computeIfAbsent(row.tree + "," + row.order + "," + row.operation, key -> new ArrayList<>()).add(row);
+        }
+        List<Fit> fits = new ArrayList<>();
+        for (List<Row> points : series.values()) {
+            if (points.stream().mapToInt(row -> row.n).distinct().count() < 2) {
+                continue;
+            }
+            double[] n = points.stream().mapToDouble(row -> row.n).toArray();
+            double[] t = points.stream().mapToDouble(row -> row.medianSeconds).toArray();
+            double[] nLogN = new double[n.length];
+            double[] nSquared = new double[n.length];
+            for (int i = 0; i < n.length; i++) {
+                nLogN[i] = n[i] * Math.log(n[i]) / Math.log(2);
+                nSquared[i] = n[i] * n[i];
+            }
+            double c1 = coefficient(nLogN, t);
+            double c2 = coefficient(nSquared, t);
+            Row first = points.get(0);
+            fits.add(new Fit(first.tree, first.order, first.operation, n.length, c1, rSquared(nLogN, t, c1), c2,
+                    rSquared(nSquared, t, c2), exponent(n, t)));
+        }
+        return fits;
+    }
+
+    /**
+     * Compares each row with the baseline row for the same N, tree, order and operation
+     *
+     * @param current the rows of this run.
+     * @param baseline the rows of the baseline run.
+     * @param tolerance how much slower (as a fraction, e.g. 0.25) a median may be before it is a regression; every
+     *        repetition must also be slower than the baseline median, so one noisy repetition is not enough.
+     * @return one comparison per row found in both.
+     */
+    public static List<Comparison> compare(List<Row> current, List<Row> baseline, double tolerance) {
+        Map<String, Row> before = new LinkedHashMap<>();
+        for (Row row : baseline) {
+            before.put(row.key(), row);
+        }
+        List<Comparison> comparisons = new ArrayList<>();
+        for (Row row : current) {
+            Row old = before.get(row.key());
+            if (old != null) {
+                comparisons.add(new Comparison(row, old, tolerance));
+            }
+        }
+        return comparisons;
+    }
+
+    /**
+     * Finds combinations whose best-fitting growth model got worse (n log n in the baseline, n^2 now)
+     *
+     * @param current the fits of this run.
+     * @param baseline the fits of the baseline run.
+     * @return a description of each change.
+     */
+    public static List<String> growthRegressions(List<Fit> current, List<Fit> baseline) {
+        Map<String, Fit> before = new LinkedHashMap<>();
+        for (Fit fit : baseline) {
+            before.put(fit.key(), fit);
+        }
+        List<String> regressions = new ArrayList<>();
+        for (Fit fit : current) {
+            Fit old = before.get(fit.key());
+            if (old != null && old.best().equals(N_LOG_N) && fit.best().equals(QUADRATIC)) {
+                regressions.add(String.format(Locale.ROOT, "%s: growth was %s (exponent %.2f), now %s (exponent %.2f)",
+                        fit.key().replace(',', ' '), old.best(), old.exponent, fit.best(), fit.exponent));
+            }
+        }
+        return regressions;
+    }
+
+    /* least-squares c for t = c * f through the origin */
+    private static double coefficient(double[] f, double[] t) {
+        double ft = 0;
+        double ff = 0;
+        for (int i = 0; i < f.length; i++) {
+            ft += f[i] * t[i];
+            ff += f[i] * f[i];
+        }
+        return ff == 0 ? 0 : ft / ff;
+    }
+
+    /* share of the variance in t explained by c * f (1 is a perfect fit; may be negative for a bad one) */
+    private static double rSquared(double[] f, double[] t, double c) {
+        double mean = 0;
+        for (double value : t) {
+            mean += value / t.length;
+        }
+        double residual = 0;
+        double total = 0;
+        for (int i = 0; i < f.length; i++) {
+            residual += (t[i] - c * f[i]) * (t[i] - c * f[i]);
+            total += (t[i] - mean) * (t[i] - mean);
+        }
+        return total == 0 ? (residual == 0 ? 1 : 0) : 1 - residual / total;
+    }
+
+    /* slope of log t against log n: about 1 for n log n over a modest range, about 2 for n^2 */
+    private static double exponent(double[] n, double[] t) {
+        int count = 0;
+        double sx = 0, sy = 0, sxx = 0, sxy = 0;
+        for (int i = 0; i < n.length; i++) {
+            if (t[i] <= 0) {
+                continue;                                       // below the timer's resolution
+            }
+            double x = Math.log(n[i]);
+            double y = Math.log(t[i]);
+            sx += x;
+            sy += y;
+            sxx += x * x;
+            sxy += x * y;
+            count++;
+        }
+        double denominator = count * sxx - sx * sx;
+        return count < 2 || denominator == 0 ? Double.NaN : (count * sxy - sx * sy) / denominator;
+    }
+
+    /* the repetitions of one measurement, reduced */
+    public static class Row {
+        public final int n;
+        public final String tree;
+        public final String order;
+        public final String operation;
+        public final int reps;
+        public final double medianSeconds;
+        public final double minSeconds;
+        public final double maxSeconds;
+
+        Row(int n, String tree, String order, String operation, int reps, double medianSeconds, double minSeconds,
+            double maxSeconds) {
+            this.n = n;
+            this.tree = tree;
+            this.order = order;
+            this.operation = operation;
+            this.reps = reps;
+            this.medianSeconds = medianSeconds;
+            this.minSeconds = minSeconds;
+            this.maxSeconds = maxSeconds;
+        }
+
+        /* identifies the measurement across runs */
+        String key() {
+            return n + "," + tree + "," + order + "," + operation;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d,%s,%s,%s,%d,%.9f,%.9f,%.9f,%.1f", n, tree, order, operation, reps,
+                    medianSeconds, minSeconds, maxSeconds, medianSeconds * 1e9 / n);
+        }
+    }
+
+    /* how one tree, order and operation grows with n */
+    public static class Fit {
+        public final String tree;
+        public final String order;
+        public final String operation;
+        public final int sizes;
+        public final double nLogNCoefficient;
+        public final double nLogNR2;
+        public final double quadraticCoefficient;
+        public final double quadraticR2;
+        public final double exponent;
+
+        Fit(String tree, String order, String operation, int sizes, double nLogNCoefficient, double nLogNR2,
+            double quadraticCoefficient, double quadraticR2, double exponent) {
+            this.tree = tree;
+            this.order = order;
+            this.operation = operation;
+            this.sizes = sizes;
+            this.nLogNCoefficient = nLogNCoefficient;
+            this.nLogNR2 = nLogNR2;
+            this.quadraticCoefficient = quadraticCoefficient;
+            this.quadraticR2 = quadraticR2;
+            this.exponent = exponent;
+        }
+
+        /* returns the model that explains the timings better */
+        public String best() {
+            return quadraticR2 > nLogNR2 ? QUADRATIC : N_LOG_N;
+        }
+
+        String key() {
+            return tree + "," + order + "," + operation;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s,%s,%s,%d,%.6e,%.4f,%.6e,%.4f,%.2f,%s", tree, order, operation, sizes,
+                    nLogNCoefficient, nLogNR2, quadraticCoefficient, quadraticR2, exponent, best());
+        }
+    }
+
+    /* one row of this run against the same row of the baseline */
+    public static class Comparison {
+        public final Row current;
+        public final Row baseline;
+        public final double ratio;                              // current median / baseline median
+        public final boolean regression;
+
+        Comparison(Row current, Row baseline, double tolerance) {
+            this.current = current;
+            this.baseline = baseline;
+            this.ratio = baseline.medianSeconds > 0 ? current.medianSeconds / baseline.medianSeconds : Double.NaN;
+            this.regression = ratio > 1 + tolerance             // slower by more than the tolerance,
+                    && current.medianSeconds - baseline.medianSeconds > MIN_REGRESSION_SECONDS    // by a real margin,
+                    && current.minSeconds > baseline.medianSeconds;     // and in every repetition
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "N=%d %s %s %s: %.6f s -> %.6f s (%.2fx)%s", current.n, current.order,
+                    current.tree, current.operation, baseline.medianSeconds, current.medianSeconds, ratio,
+                    regression ? "  REGRESSION" : "");
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/**
+ * @file: SeasonIndex.java
+ * @description: Defines an interval tree over each driver's career span (first to last season), answering "who was
+ * active in year Y" and "who was active at some point between two years" without scanning every record. It is an
+ * AvlTree of spans keyed by first season that keeps the latest last season of every subtree as a max aggregate, so
+ * AvlTree.findAll skips whole subtrees that end too early.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implements an interval tree of drivers' career spans.
+ * Drivers are ordered by first season, then by F1.compareTo; drivers with no season are not indexed.
+ */
+public class SeasonIndex {
+    /**
+     * Construct the index.
+     */
+    public SeasonIndex( ) {
+        spans = new AvlTree<>( );
+        spans.addAggregate( LATEST_END );
+    }
+
+    /**
+     * Insert a driver; duplicates and drivers without a season are ignored.
+     * @param driver the driver to insert.
+     * @return true if the driver was added.
+     */
+    public boolean insert( F1 driver ) {
+        int first = driver.getFirstSeason( );
+        if( first < 0 )
+            return false;
+        int before = spans.size( );
+        spans.insert( new Span( first, driver.getLastSeason( ), driver ) );
+        return spans.size( ) > before;
+    }
+
+    /**
+     * Remove a driver. Nothing is done if it is not found.
+     * @param driver the driver to remove.
+     * @return true if the driver was removed.
+     */
+    public boolean remove( F1 driver ) {
+        int first = driver.getFirstSeason( );
+        if( first < 0 )
+            return false;
+        int before = spans.size( );
+        spans.remove( new Span( first, driver.getLastSeason( ), driver ) );
+        return spans.size( ) < before;
+    }
+
+    /**
+     * Find every driver whose career span includes a year (stabbing query).
+     * @param year the year.
+     * @return the drivers, ordered by first season.
+     */
+    public List<F1> activeIn( int year ) {
+        return activeBetween( year, year );
+    }
+
+    /**
+     * Find every driver whose career span overlaps [from, to] (overlap query): the spans that start
+     * by to, skipping subtrees whose latest end is before from. This is one in-order walk; the
+     * spans starting in [from, to] are contiguous in it and cost O(1) each, and the earlier spans
+     * still running at from share the paths that lead to them.
+     * @param from the first year of the range.
+     * @param to the last year of the range.
+     * @return the drivers, ordered by first season.
+     */
+    public List<F1> activeBetween( int from, int to ) {
+        List<F1> found = new ArrayList<>( );
+        if( from > to )
+            return found;
+        for( Span span : spans.findAll( LATEST_END, end -> end >= from, Span.after( -1 ), Span.after( to ) ) )
+            found.add( span.driver );
+        return found;
+    }
+
+    /**
+     * Returns the number of drivers in the index.
+     */
+    public int size( ) {
+        return spans.size( );
+    }
+
+    /**
+     * Test if the index is logically empty.
+     * @return true if empty, false otherwise.
+     */
+    public boolean isEmpty( ) {
+        return spans.isEmpty( );
+    }
+
+    /**
+     * Make the index logically empty.
+     */
+    public void makeEmpty( ) {
+        spans.makeEmpty( );
+    }
+
+    /**
+     * Returns the height of the tree (-1 if empty).
+     */
+    public int height( ) {
+        return spans.height( );
+    }
+
+    /**
+     * Check the AVL balance, ordering and latest end of the tree; prints "OOPS!!" on a violation.
+     */
+    public void checkInvariants( ) {
+        spans.checkBalance( );
+        Span previous = null;
+        int latest = Integer.MIN_VALUE;
+        for( Span span : spans ) {
+            if( previous != null && previous.compareTo( span ) >= 0 )
+                System.out.println( "OOPS!!" );
+            latest = Math.max( latest, span.end );
+            previous = span;
+        }
+        if( spans.aggregate( LATEST_END ) != latest )
+            System.out.println( "OOPS!!" );
+    }
+
+    /** Latest last season over a range of spans. */
+    private static final Aggregate<Span, Integer> LATEST_END = Aggregate.max( span -> span.end );
+
+    /**
+     * A driver's career span, ordered by first season, then by driver. A span with no driver is a
+     * search bound that sorts after every span starting in or before its year.
+     */
+    private static class Span implements Comparable<Span> {
+        // Constructor
+        Span( int theStart, int theEnd, F1 theDriver ) {
+            start  = theStart;
+            end    = theEnd;
+            driver = theDriver;
+        }
+
+        static Span after( int year ) {
+            return new Span( year, year, null );
+        }
+
+        public int compareTo( Span other ) {
+            int c = Integer.compare( start, other.start );
+            if( c != 0 || driver == other.driver )
+                return c;
+            if( driver == null || other.driver == null )
+                return driver == null ? 1 : -1;
+            return driver.compareTo( other.driver );
+        }
+
+        final int  start;       // First season
+        final int  end;         // Last season
+        final F1   driver;      // The driver whose career span this is (null for a bound)
+    }
+
+    /** The spans, keeping LATEST_END. */
+    private final AvlTree<Span> spans;
+}
@@ -0,0 +1,108 @@
+/**
+ * @file: SeasonIndexBench.java
+ * @description: Measures "which drivers were active in year Y" and "active between two years" queries answered by a
+ * full scan of every record against the same queries answered by SeasonIndex. The dataset is copied with numbered
+ * names until it reaches the requested number of records, and both answers must agree.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class SeasonIndexBench {
+    public static void main(String[] args) throws IOException {
+        // Usage: java SeasonIndexBench <dataset file> [records] [queries] [rounds]
+        if (args.length < 1) {
+            System.err.println("Usage: java SeasonIndexBench <dataset file> [records] [queries] [rounds]");
+            System.exit(1);
+        }
+        int records = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 2_000;
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+
+        List<F1> drivers = loadDataset(args[0], records);
+        long start = System.nanoTime();
+        SeasonIndex index = new SeasonIndex();
+        for (F1 driver : drivers) {
+            index.insert(driver);
+        }
+        double buildMillis = (System.nanoTime() - start) / 1e6;
+
+        int minYear = Integer.MAX_VALUE;
+        int maxYear = Integer.MIN_VALUE;
+        for (F1 driver : drivers) {
+            if (driver.getFirstSeason() >= 0) {
+                minYear = Math.min(minYear, driver.getFirstSeason());
+                maxYear = Math.max(maxYear, driver.getLastSeason());
+            }
+        }
+        Random random = new Random(42);
+        int[] from = new int[queries];
+        int[] to = new int[queries];
+        for (int q = 0; q < queries; q++) {
+            from[q] = minYear + random.nextInt(maxYear - minYear + 1);
+            to[q] = q % 2 == 0 ? from[q] : from[q] + random.nextInt(5);     // half stabbing, half short ranges
+        }
+
+        System.out.println("===========Season Index Benchmark===========");
+        System.out.printf("records: %d, indexed: %d, index height: %d, build: %.1f ms, years %d-%d\n",
+                drivers.size(), index.size(), index.height(), buildMillis, minYear, maxYear);
+        System.out.println("round,scanMillis,indexMillis,matches,speedup");
+        /* The first round only warms up the JIT */
+        for (int round = 0; round <= rounds; round++) {
+            long scanMatches = 0;
+            start = System.nanoTime();
+            for (int q = 0; q < queries; q++) {
+                scanMatches += scan(drivers, from[q], to[q]).size();
+            }
+            double scanMillis = (System.nanoTime() - start) / 1e6;
+
+            long indexMatches = 0;
+            start = System.nanoTime();
+            for (int q = 0; q < queries; q++) {
+                indexMatches += index.activeBetween(from[q], to[q]).size();
+            }
+            double indexMillis = (System.nanoTime() - start) / 1e6;
+
+            if (scanMatches != indexMatches) {
+                System.out.println("INDEX RESULTS DIFFER FROM THE SCAN!");
+                System.exit(1);
+            }
+            if (round > 0) {
+                System.out.printf("%d,%.1f,%.1f,%d,%.1fx\n", round, scanMillis, indexMillis, indexMatches,
+                        scanMillis / indexMillis);
+            }
+        }
+    }
+
+    /* finds the drivers whose career span overlaps [from, to] by checking every record */
+    private static List<F1> scan(List<F1> drivers, int from, int to) {
+        List<F1> found = new ArrayList<>();
+        for (F1 driver : drivers) {
+            int first = driver.getFirstSeason();
+            if (first >= 0 && first <= to && driver.getLastSeason() >= from) {
+                found.add(driver);
+            }
+        }
+        return found;
+    }
+
+    /* parses the dataset's data lines, copied with numbered driver names until there are the requested records */
+    private static List<F1> loadDataset(String dataset, int records) throws IOException {
+        List<String> lines = new ArrayList<>(Files.readAllLines(Paths.get(dataset), StandardCharsets.UTF_8));
+        lines.remove(0);
+        lines.removeIf(String::isBlank);
+        List<F1> drivers = new ArrayList<>(records);
+        for (int i = 0; i < records; i++) {
+            String line = lines.get(i % lines.size());
+            int comma = line.indexOf(',');
+            drivers.add(Parser.parseDriver(line.substring(0, comma) + " #" + (i / lines.size()) + line.substring(comma)));
+        }
+        return drivers;
+    }
+}
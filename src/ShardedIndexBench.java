@@ -0,0 +1,111 @@
+/**
+ * @file: ShardedIndexBench.java
+ * @description: Measures multi-threaded throughput of ShardedRankingIndex against a single AvlTree behind one
+ * read-write lock, on synthetic F1 driver records and a lookup-heavy mix of inserts, removes and lookups.
+ * Throughput is reported for 1 thread up to twice the available cores.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class ShardedIndexBench {
+    private static final int INSERT_PERCENT = 10;
+    private static final int REMOVE_PERCENT = 5;
+
+    public static void main(String[] args) throws InterruptedException {
+        // Usage: java ShardedIndexBench [records] [operations per thread] [shards] [seed]
+        int records = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int opsPerThread = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+        int shardCount = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42L;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        Random random = new Random(seed);
+        List<F1> drivers = new ArrayList<>(records);
+        for (int i = 0; i < records; i++) {
+            drivers.add(new F1("Driver " + i, "Nowhere", new String[] {String.valueOf(1950 + random.nextInt(75))},
+                    random.nextInt(8), random.nextInt(110), random.nextInt(200), random.nextInt(5000) / 2.0));
+        }
+
+        System.out.println("===========Sharded Index Benchmark===========");
+        System.out.printf("records: %d, ops/thread: %d, shards: %d, cores: %d, seed: %d\n",
+                records, opsPerThread, shardCount, cores, seed);
+        System.out.println("threads,singleLockOpsPerSecond,shardedOpsPerSecond");
+        /* The first pass only warms up the JIT */
+        for (int pass = 0; pass < 2; pass++) {
+            for (int threads = 1; threads <= 2 * cores; threads *= 2) {
+                AvlTree<F1> tree = new AvlTree<>();
+                ReentrantReadWriteLock treeLock = new ReentrantReadWriteLock();
+                ShardedRankingIndex<F1> index = new ShardedRankingIndex<>(drivers, shardCount);
+                for (int i = 0; i < records; i += 2) {             // start half full
+                    tree.insert(drivers.get(i));
+                    index.insert(drivers.get(i));
+                }
+
+                double single = run(threads, opsPerThread, drivers, seed, new Target() {
+                    public void insert(F1 x) {
+                        treeLock.writeLock().lock();
+                        try { tree.insert(x); } finally { treeLock.writeLock().unlock(); }
+                    }
+                    public void remove(F1 x) {
+                        treeLock.writeLock().lock();
+                        try { tree.remove(x); } finally { treeLock.writeLock().unlock(); }
+                    }
+                    public boolean contains(F1 x) {
+                        treeLock.readLock().lock();
+                        try { return tree.contains(x); } finally { treeLock.readLock().unlock(); }
+                    }
+                });
+                double sharded = run(threads, opsPerThread, drivers, seed, new Target() {
+                    public void insert(F1 x) { index.insert(x); }
+                    public void remove(F1 x) { index.remove(x); }
+                    public boolean contains(F1 x) { return index.contains(x); }
+                });
+                if (pass == 1) {
+                    System.out.printf("%d,%.0f,%.0f\n", threads, single, sharded);
+                }
+            }
+        }
+    }
+
+    /* the operations the worker threads call on the structure under test */
+    private interface Target {
+        void insert(F1 x);
+        void remove(F1 x);
+        boolean contains(F1 x);
+    }
+
+    /* runs the operation mix on the given number of threads and returns operations per second */
+    private static double run(int threads, int opsPerThread, List<F1> drivers, long seed, Target target)
+            throws InterruptedException {
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            Random random = new Random(seed + t);
+            workers.add(new Thread(() -> {
+                for (int i = 0; i < opsPerThread; i++) {
+                    F1 x = drivers.get(random.nextInt(drivers.size()));
+                    int roll = random.nextInt(100);
+                    if (roll < INSERT_PERCENT) {
+                        target.insert(x);
+                    } else if (roll < INSERT_PERCENT + REMOVE_PERCENT) {
+                        target.remove(x);
+                    } else {
+                        target.contains(x);
+                    }
+                }
+            }));
+        }
+        long start = System.nanoTime();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        return (double) threads * opsPerThread / (elapsed / 1_000_000_000.0);
+    }
+}
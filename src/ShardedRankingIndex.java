@@ -0,0 +1,175 @@
+/**
+ * @file: ShardedRankingIndex.java
+ * @description: Defines a thread-safe ordered index that range-partitions the key space (by compareTo) across several
+ * AvlTree shards, each guarded by its own read-write lock. Threads working on different key ranges never contend,
+ * lookups in the same shard share its read lock, and iteration walks the shards in order to give one sorted stream.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class ShardedRankingIndex<AnyType extends Comparable<? super AnyType>> implements Iterable<AnyType> {
+    private final List<AnyType> splitters;                  // shard i holds keys in [splitters[i-1], splitters[i])
+    private final List<AvlTree<AnyType>> shards;
+    private final List<ReentrantReadWriteLock> locks;
+
+    /**
+     * Builds an empty index whose shard boundaries are the quantiles of a sample of the expected keys
+     *
+     * @param sample keys representative of the data (e.g. the dataset being loaded); not stored.
+     * @param shardCount the number of shards to create (at least 1).
+     */
+    public ShardedRankingIndex(List<? extends AnyType> sample, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be at least 1");
+        }
+        List<AnyType> sorted = new ArrayList<>(sample);
+        Collections.sort(sorted);
+        splitters = new ArrayList<>();
+        for (int i = 1; i < shardCount && !sorted.isEmpty(); i++) {
+            AnyType splitter = sorted.get((int) ((long) i * sorted.size() / shardCount));
+            if (splitters.isEmpty() || splitters.get(splitters.size() - 1).compareTo(splitter) < 0) {
+                splitters.add(splitter);                    // skip repeated quantiles from skewed samples
+            }
+        }
+        shards = new ArrayList<>(splitters.size() + 1);
+        locks = new ArrayList<>(splitters.size() + 1);
+        for (int i = 0; i <= splitters.size(); i++) {
+            shards.add(new AvlTree<>());
+            locks.add(new ReentrantReadWriteLock());
+        }
+    }
+
+    /* inserts an element into its shard; duplicates are ignored */
+    public void insert(AnyType x) {
+        int i = shardOf(x);
+        ReentrantReadWriteLock.WriteLock lock = locks.get(i).writeLock();
+        lock.lock();
+        try {
+            shards.get(i).insert(x);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /* removes an element from its shard; nothing is done if it is not found */
+    public void remove(AnyType x) {
+        int i = shardOf(x);
+        ReentrantReadWriteLock.WriteLock lock = locks.get(i).writeLock();
+        lock.lock();
+        try {
+            shards.get(i).remove(x);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /* checks whether an element is in the index; readers of the same shard run in parallel */
+    public boolean contains(AnyType x) {
+        int i = shardOf(x);
+        ReentrantReadWriteLock.ReadLock lock = locks.get(i).readLock();
+        lock.lock();
+        try {
+            return shards.get(i).contains(x);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /* returns the total number of elements (shards are counted one at a time, so it is not atomic) */
+    public int size() {
+        int total = 0;
+        for (int i = 0; i < shards.size(); i++) {
+            total += snapshotSize(i);
+        }
+        return total;
+    }
+
+    /* returns the number of shards */
+    public int shardCount() {
+        return shards.size();
+    }
+
+    /**
+     * Iterator over all elements in sorted order. Because shards cover consecutive key ranges, the merged order is
+     * the shards' orders one after another. Each shard is copied under its read lock when the iterator reaches it,
+     * so the iterator never blocks writers for long and never throws on concurrent updates.
+     *
+     * @return An iterator that visits each element in sorted order
+     */
+    @Override
+    public Iterator<AnyType> iterator() {
+        return new Iterator<AnyType>() {
+            private int shard = 0;
+            private Iterator<AnyType> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!current.hasNext() && shard < shards.size()) {
+                    current = snapshot(shard++).iterator();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public AnyType next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    /* finds the shard whose key range holds x (binary search over the splitters) */
+    private int shardOf(AnyType x) {
+        int lo = 0;
+        int hi = splitters.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (x.compareTo(splitters.get(mid)) < 0) {
+                hi = mid;
+            }
+            else {
+                lo = mid + 1;
+            }
+        }
+        return lo;
+    }
+
+    /* copies one shard's elements in order under its read lock */
+    private List<AnyType> snapshot(int i) {
+        ReentrantReadWriteLock.ReadLock lock = locks.get(i).readLock();
+        lock.lock();
+        try {
+            List<AnyType> items = new ArrayList<>(shards.get(i).size());
+            for (AnyType x : shards.get(i)) {
+                items.add(x);
+            }
+            return items;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /* reads one shard's size under its read lock */
+    private int snapshotSize(int i) {
+        ReentrantReadWriteLock.ReadLock lock = locks.get(i).readLock();
+        lock.lock();
+        try {
+            return shards.get(i).size();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * @file: SnapshotBench.java
+ * @description: Measures startup time for loading the driver trees from CSV text (parse every line, insert into a BST
+ * and an AvlTree) against restoring the same trees from binary snapshots. The dataset is copied with numbered names
+ * until it reaches the requested number of records, so both paths see the same data at scale.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SnapshotBench {
+    public static void main(String[] args) throws IOException {
+        // Usage: java SnapshotBench <dataset file> [records] [rounds]
+        if (args.length < 1) {
+            System.err.println("Usage: java SnapshotBench <dataset file> [records] [rounds]");
+            System.exit(1);
+        }
+        int records = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        File csv = File.createTempFile("drivers", ".csv");
+        File bstFile = File.createTempFile("drivers", ".bst");
+        File avlFile = File.createTempFile("drivers", ".avl");
+        csv.deleteOnExit();
+        bstFile.deleteOnExit();
+        avlFile.deleteOnExit();
+        writeDataset(args[0], csv, records);
+
+        BST<F1> bst = new BST<>();
+        AvlTree<F1> avl = new AvlTree<>();
+        loadCsv(csv, bst, avl);
+        F1Codec codec = new F1Codec();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(bstFile)))) {
+            bst.writeSnapshot(out, codec);
+        }
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(avlFile)))) {
+            avl.writeSnapshot(out, codec);
+        }
+
+        System.out.println("===========Snapshot Benchmark===========");
+        System.out.printf("records: %d, csv: %d bytes, bst snapshot: %d bytes, avl snapshot: %d bytes\n",
+                records, csv.length(), bstFile.length(), avlFile.length());
+        System.out.println("round,csvMillis,bstSnapshotMillis,avlSnapshotMillis");
+        /* The first round only warms up the JIT */
+        for (int round = 0; round <= rounds; round++) {
+            long start = System.nanoTime();
+            loadCsv(csv, new BST<>(), new AvlTree<>());
+            double csvMillis = (System.nanoTime() - start) / 1e6;
+
+            start = System.nanoTime();
+            BST<F1> bstCopy = new BST<>();
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(bstFile)))) {
+                bstCopy.readSnapshot(in, codec);
+            }
+            double bstMillis = (System.nanoTime() - start) / 1e6;
+
+            start = System.nanoTime();
+            AvlTree<F1> avlCopy = new AvlTree<>();
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(avlFile)))) {
+                avlCopy.readSnapshot(in, codec);
+            }
+            double avlMillis = (System.nanoTime() - start) / 1e6;
+
+            if (avlCopy.size() != avl.size() || bstCopy.height() != bst.height()) {
+                System.out.println("RESTORED TREES DIFFER FROM THE ORIGINALS!");
+                System.exit(1);
+            }
+            if (round > 0) {
+                System.out.printf("%d,%.1f,%.1f,%.1f\n", round, csvMillis, bstMillis, avlMillis);
+            }
+        }
+    }
+
+    /* parses every data line of the CSV file and inserts it into both trees */
+    private static void loadCsv(File csv, BST<F1> bst, AvlTree<F1> avl) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(csv, StandardCharsets.UTF_8))) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                F1 driver = Parser.parseDriver(line);
+                bst.insert(driver);
+                avl.insert(driver);
+            }
+        }
+    }
+
+    /* copies the dataset's data lines with numbered driver names until there are the requested number of records */
+    private static void writeDataset(String dataset, File csv, int records) throws IOException {
+        List<String> lines = new ArrayList<>(Files.readAllLines(Paths.get(dataset), StandardCharsets.UTF_8));
+        String header = lines.remove(0);
+        lines.removeIf(String::isBlank);
+        try (PrintWriter out = new PrintWriter(new FileWriter(csv, StandardCharsets.UTF_8))) {
+            out.println(header);
+            for (int i = 0; i < records; i++) {
+                String line = lines.get(i % lines.size());
+                int comma = line.indexOf(',');
+                out.println(line.substring(0, comma) + " #" + (i / lines.size()) + line.substring(comma));
+            }
+        }
+    }
+}
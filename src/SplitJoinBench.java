@@ -0,0 +1,128 @@
+/**
+ * @file: SplitJoinBench.java
+ * @description: Compares AvlTree split/join and the set operations built on them with the naive approach of
+ * iterating one tree and inserting into (or removing from, or probing) another. Reports milliseconds per operation.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.util.Random;
+
+public class SplitJoinBench {
+    public static void main(String[] args) {
+        // Usage: java SplitJoinBench [N] [seed]
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+        Random random = new Random(seed);
+
+        int[] keysA = new int[n];
+        int[] keysB = new int[n / 4];
+        for (int i = 0; i < keysA.length; i++) {
+            keysA[i] = random.nextInt(4 * n);
+        }
+        for (int i = 0; i < keysB.length; i++) {
+            keysB[i] = random.nextInt(4 * n);
+        }
+        int pivot = 2 * n;
+
+        System.out.println("===========Split/Join Benchmark===========");
+        System.out.printf("N: %d, second tree: %d, seed: %d\n", n, keysB.length, seed);
+        /* First round warms up the JIT; the second is reported */
+        for (int round = 0; round < 2; round++) {
+            boolean report = round == 1;
+
+            /* split at the middle of the key range */
+            AvlTree<Integer> a = build(keysA);
+            long start = System.nanoTime();
+            AvlTree<Integer> upper = a.split(pivot);
+            long fast = System.nanoTime() - start;
+            AvlTree<Integer> lower = new AvlTree<>();
+            AvlTree<Integer> higher = new AvlTree<>();
+            AvlTree<Integer> whole = build(keysA);
+            start = System.nanoTime();
+            for (Integer x : whole) {
+                if (x < pivot) {
+                    lower.insert(x);
+                } else {
+                    higher.insert(x);
+                }
+            }
+            long naive = System.nanoTime() - start;
+            print(report, "split", fast, naive);
+
+            /* join the two halves back together */
+            start = System.nanoTime();
+            AvlTree<Integer> joined = AvlTree.join(a, upper);
+            fast = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (Integer x : higher) {
+                lower.insert(x);
+            }
+            naive = System.nanoTime() - start;
+            print(report, "join", fast, naive);
+            if (joined.size() != lower.size()) {
+                System.out.println("Join size mismatch!");
+            }
+
+            AvlTree<Integer> b = build(keysB);
+
+            /* union: naive inserts every item of b */
+            AvlTree<Integer> target = build(keysA);
+            start = System.nanoTime();
+            target.union(b);
+            fast = System.nanoTime() - start;
+            AvlTree<Integer> naiveTarget = build(keysA);
+            start = System.nanoTime();
+            for (Integer x : b) {
+                naiveTarget.insert(x);
+            }
+            naive = System.nanoTime() - start;
+            print(report, "union", fast, naive);
+
+            /* intersection: naive probes a for every item of b */
+            target = build(keysA);
+            start = System.nanoTime();
+            target.intersection(b);
+            fast = System.nanoTime() - start;
+            naiveTarget = build(keysA);
+            start = System.nanoTime();
+            AvlTree<Integer> common = new AvlTree<>();
+            for (Integer x : b) {
+                if (naiveTarget.contains(x)) {
+                    common.insert(x);
+                }
+            }
+            naive = System.nanoTime() - start;
+            print(report, "intersection", fast, naive);
+
+            /* difference: naive removes every item of b */
+            target = build(keysA);
+            start = System.nanoTime();
+            target.difference(b);
+            fast = System.nanoTime() - start;
+            naiveTarget = build(keysA);
+            start = System.nanoTime();
+            for (Integer x : b) {
+                naiveTarget.remove(x);
+            }
+            naive = System.nanoTime() - start;
+            print(report, "difference", fast, naive);
+        }
+    }
+
+    /* builds a tree holding the given keys */
+    private static AvlTree<Integer> build(int[] keys) {
+        AvlTree<Integer> t = new AvlTree<>();
+        for (int key : keys) {
+            t.insert(key);
+        }
+        return t;
+    }
+
+    /* prints one result line in milliseconds */
+    private static void print(boolean report, String operation, long fast, long naive) {
+        if (report) {
+            System.out.printf("%-12s split/join: %9.3f ms, iterate-and-insert: %9.3f ms\n",
+                    operation, fast / 1_000_000.0, naive / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+public class TestAggregate {
+    static final Aggregate<Integer, Integer> COUNT = Aggregate.count();
+    static final Aggregate<Integer, Double> SUM = Aggregate.sum(x -> x);
+    static final Aggregate<Integer, Integer> MAX = Aggregate.max(x -> x % 97);
+    // not commutative, so it also checks that values are combined in key order
+    static final Aggregate<Integer, Integer> FIRST = Aggregate.of(null, x -> x, (a, b) -> a != null ? a : b);
+
+    // Test program for the aggregates kept by AvlTree
+    public static void main( String [ ] args ) throws IOException {
+        final int NUMS = 5000;
+        final int TRIALS = 20;
+        Random random = new Random(43);
+
+        System.out.println("Checking... (no more output means success)");
+
+        // an aggregate added to a full tree summarizes what is already there
+        AvlTree<Integer> t = new AvlTree<>();
+        TreeSet<Integer> expect = new TreeSet<>();
+        for (int i = 0; i < NUMS; i++) {
+            int x = random.nextInt(NUMS * 2);
+            t.insert(x);
+            expect.add(x);
+        }
+        addAll(t);
+        check(t, expect, random, "addAggregate");
+        try {
+            t.aggregate(Aggregate.count(), 0, 1);
+            System.out.println("Unknown aggregate error!");
+        } catch (IllegalArgumentException expected) {
+        }
+
+        // single inserts and removes, including removes of nodes with two children
+        for (int i = 0; i < NUMS * 4; i++) {
+            int x = random.nextInt(NUMS * 2);
+            if (random.nextInt(3) == 0) {
+                t.insert(x);
+                expect.add(x);
+            } else {
+                t.remove(x);
+                expect.remove(x);
+            }
+        }
+        check(t, expect, random, "insert/remove");
+
+        for (int trial = 0; trial < TRIALS; trial++) {
+            // batch inserts (each of the three insertAll strategies)
+            List<Integer> batch = new ArrayList<>();
+            for (int i = random.nextInt(3) == 0 ? NUMS : random.nextInt(NUMS / 10); i > 0; i--)
+                batch.add(random.nextInt(NUMS * 2));
+            t.insertAll(batch);
+            expect.addAll(batch);
+            check(t, expect, random, "insertAll");
+
+            // split and join, with the upper half keeping the aggregates
+            int key = random.nextInt(NUMS * 2);
+            AvlTree<Integer> upper = t.split(key);
+            check(t, new TreeSet<>(expect.headSet(key)), random, "split lower");
+            check(upper, new TreeSet<>(expect.tailSet(key)), random, "split upper");
+            t = AvlTree.join(t, upper);
+            check(t, expect, random, "join");
+
+            // set operations with a tree that keeps no aggregates
+            AvlTree<Integer> other = new AvlTree<>();
+            TreeSet<Integer> otherExpect = new TreeSet<>();
+            for (int i = random.nextInt(NUMS / 5); i > 0; i--) {
+                int x = random.nextInt(NUMS * 2);
+                other.insert(x);
+                otherExpect.add(x);
+            }
+            if (trial % 3 == 0) {
+                t.union(other);
+                expect.addAll(otherExpect);
+            } else if (trial % 3 == 1) {
+                t.difference(other);
+                expect.removeAll(otherExpect);
+            } else {
+                other.union(t);
+                t.intersection(other);
+            }
+            check(t, expect, random, "set operation");
+        }
+
+        // a tree joined onto one that keeps aggregates is summarized again
+        AvlTree<Integer> plain = new AvlTree<>();
+        int top = expect.isEmpty() ? 0 : expect.last();
+        for (int i = 1; i <= 100; i++) {
+            plain.insert(top + i);
+            expect.add(top + i);
+        }
+        t = AvlTree.join(t, plain);
+        check(t, expect, random, "join plain");
+
+        // a snapshot read into a tree that keeps aggregates is summarized as it is linked
+        TreeCodec<Integer> ints = new TreeCodec<Integer>() {
+            public void write(Integer x, DataOutput out) throws IOException { out.writeInt(x); }
+            public Integer read(DataInput in) throws IOException { return in.readInt(); }
+        };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        t.writeSnapshot(new DataOutputStream(bytes), ints);
+        AvlTree<Integer> copy = new AvlTree<>();
+        addAll(copy);
+        copy.readSnapshot(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), ints);
+        check(copy, expect, random, "snapshot");
+
+        copy.makeEmpty();
+        if (copy.aggregate(COUNT) != 0 || copy.aggregate(SUM, 0, NUMS) != 0.0 || copy.aggregate(FIRST) != null)
+            System.out.println("Empty tree aggregate error!");
+    }
+
+    static void addAll(AvlTree<Integer> t) {
+        t.addAggregate(COUNT);
+        t.addAggregate(SUM);
+        t.addAggregate(MAX);
+        t.addAggregate(FIRST);
+        t.addAggregate(COUNT);          // already kept; no effect
+    }
+
+    // compares the whole-tree value and random ranges against a scan of the expected set
+    static void check(AvlTree<Integer> t, SortedSet<Integer> expect, Random random, String what) {
+        t.checkBalance();
+        if (t.aggregate(COUNT) != expect.size())
+            System.out.println(what + " count error!");
+        for (int q = 0; q < 50; q++) {
+            int lo = random.nextInt(12000) - 1000;
+            int hi = q == 0 ? lo - 1 : lo + random.nextInt(q < 25 ? 50 : 8000);
+            SortedSet<Integer> range = lo > hi ? new TreeSet<>() : expect.subSet(lo, hi + 1);
+            double sum = 0;
+            int max = Integer.MIN_VALUE;
+            List<Integer> high = new ArrayList<>();
+            for (int x : range) {
+                sum += x;
+                max = Math.max(max, x % 97);
+                if (x % 97 >= 90)
+                    high.add(x);
+            }
+            if (t.aggregate(COUNT, lo, hi) != range.size() || t.aggregate(SUM, lo, hi) != sum
+                    || t.aggregate(MAX, lo, hi) != max
+                    || !Objects.equals(t.aggregate(FIRST, lo, hi), range.isEmpty() ? null : range.first()))
+                System.out.println(what + " range error for " + lo + ".." + hi + "!");
+            if (!t.findAll(MAX, v -> v >= 90, lo, hi).equals(high))
+                System.out.println(what + " findAll error for " + lo + ".." + hi + "!");
+        }
+    }
+}
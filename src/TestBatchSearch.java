@@ -0,0 +1,74 @@
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class TestBatchSearch {
+    // Test program for BST.searchBatch and AvlTree.containsBatch against one-at-a-time lookups
+    public static void main( String [ ] args ) {
+        final int NUMS = 10000;
+        final int KEYS = 3000;
+        Random random = new Random(29);
+
+        System.out.println("Checking... (no more output means success)");
+
+        // random trees, then a degenerate BST built from sorted inserts (deeper than the call stack allows)
+        BST<Integer> bst = new BST<>();
+        AvlTree<Integer> avl = new AvlTree<>();
+        for (int i = 0; i < NUMS / 2; i++) {
+            int x = random.nextInt(NUMS) * 2;               // even keys, so odd keys are always missing
+            bst.insert(x);
+            avl.insert(x);
+        }
+        BST<Integer> degenerate = new BST<>();
+        for (int i = 0; i < NUMS; i += 2)
+            degenerate.insert(i);
+        BST<Integer> emptyBst = new BST<>();
+        AvlTree<Integer> emptyAvl = new AvlTree<>();
+
+        // unsorted batches with duplicate and missing keys, a sorted one, a constant one, and an empty one
+        List<List<Integer>> batches = new ArrayList<>();
+        for (int trial = 0; trial < 10; trial++) {
+            List<Integer> keys = new ArrayList<>();
+            for (int i = 0; i < KEYS; i++)
+                keys.add(random.nextInt(NUMS + 20) - 10);
+            for (int i = 0; i < KEYS / 10; i++)
+                keys.add(keys.get(random.nextInt(keys.size())));
+            Collections.shuffle(keys, random);
+            batches.add(keys);
+        }
+        List<Integer> sorted = new ArrayList<>(batches.get(0));
+        Collections.sort(sorted);
+        batches.add(sorted);
+        batches.add(Collections.nCopies(50, 4));
+        batches.add(Collections.nCopies(50, 5));
+        batches.add(new ArrayList<Integer>());
+
+        for (int b = 0; b < batches.size(); b++) {
+            List<Integer> keys = batches.get(b);
+            check("BST", bst, bst.searchBatch(keys), keys, b);
+            check("Degenerate BST", degenerate, degenerate.searchBatch(keys), keys, b);
+            check("Empty BST", emptyBst, emptyBst.searchBatch(keys), keys, b);
+            BitSet found = avl.containsBatch(keys);
+            BitSet none = emptyAvl.containsBatch(keys);
+            for (int i = 0; i < keys.size(); i++) {
+                if (found.get(i) != avl.contains(keys.get(i)))
+                    System.out.println("AvlTree containsBatch error on batch " + b + " key " + keys.get(i) + "!");
+                if (none.get(i))
+                    System.out.println("Empty AvlTree containsBatch error on batch " + b + "!");
+            }
+            if (found.length() > keys.size() || none.length() > 0)
+                System.out.println("AvlTree containsBatch length error on batch " + b + "!");
+        }
+    }
+
+    // Checks a searchBatch result against search() for every key
+    private static void check( String what, BST<Integer> t, BitSet found, List<Integer> keys, int batch ) {
+        for (int i = 0; i < keys.size(); i++)
+            if (found.get(i) != (t.search(keys.get(i)) != null))
+                System.out.println(what + " searchBatch error on batch " + batch + " key " + keys.get(i) + "!");
+        if (found.length() > keys.size())
+            System.out.println(what + " searchBatch length error on batch " + batch + "!");
+    }
+}
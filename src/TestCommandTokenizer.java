@@ -0,0 +1,99 @@
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Scanner;
+
+public class TestCommandTokenizer {
+    // Test program for CommandTokenizer against Parser's old Scanner/regex tokenizing
+    public static void main( String [ ] args ) throws IOException {
+        Random random = new Random(41);
+
+        System.out.println("Checking... (no more output means success)");
+
+        // blank lines, CRLF, lone CR, tabs and missing arguments tokenize as they used to
+        String[] inputs = {
+                "",
+                "\n\n\n",
+                "insert Lewis Hamilton",
+                "insert Lewis Hamilton\n",
+                "  insert \t Lewis \t\t  Hamilton  \n",
+                "\tsearch\tMax\tVerstappen\t\n",
+                "insert A\r\nsearch A\r\nremove A\r\nprint\r\n",
+                "insert A\rsearch A\r\rprint",
+                "insert A\r\n\r\n   \r\n\t\r\nprint\r\n\r\n",
+                "insert\nsearch \nremove\t\nprint\nprint extra words\n",
+                "   \n \t \n\u000B\f\ninsert\u000BA\fB\n",
+                "jump Lewis Hamilton\nINSERT Lewis Hamilton\ninsertLewis\n",
+                "averyveryveryverylongverb with an argument\n",
+                "insert Kimi R\u00e4ikk\u00f6nen\nsearch Sergio P\u00e9rez\n",
+        };
+        for (String input : inputs) {
+            if (!tokenized(input).equals(regex(input)))
+                System.out.println("Tokenizer differs from the old parsing on " + Arrays.toString(input.getBytes(StandardCharsets.UTF_8)) + "!");
+        }
+
+        // random lines over the characters that matter, long enough to cross the tokenizer's buffer
+        char[] alphabet = {'a', 'b', 'i', ' ', ' ', '\t', '\n', '\r', '\f'};
+        for (int trial = 0; trial < 20; trial++) {
+            StringBuilder input = new StringBuilder();
+            int length = trial < 10 ? random.nextInt(100) : 40000 + random.nextInt(10000);
+            for (int i = 0; i < length; i++) {
+                char c = alphabet[random.nextInt(alphabet.length)];
+                input.append(c == 'i' ? "insert" : String.valueOf(c));
+            }
+            if (!tokenized(input.toString()).equals(regex(input.toString())))
+                System.out.println("Tokenizer differs from the old parsing on random input " + trial + "!");
+        }
+
+        // the documented differences: control characters separate words, and only \n and \r end lines
+        if (!tokenized("insert A\u0001B\n").equals(List.of("insert|A B"))
+                || !regex("insert A\u0001B\n").equals(List.of("insert|A\u0001B")))
+            System.out.println("Control character handling error!");
+        if (!tokenized("insert A\u2028search B\n").equals(List.of("insert|A\u2028search B"))
+                || !regex("insert A\u2028search B\n").equals(List.of("insert|A", "search|B")))
+            System.out.println("Line separator handling error!");
+
+        // known verbs are the shared constants, but callers should still compare with equals
+        CommandTokenizer tokens = new CommandTokenizer(channel("insert x\nsearch\n"), StandardCharsets.UTF_8);
+        if (!tokens.next() || tokens.verb() != CommandTokenizer.INSERT || !tokens.argument().equals("x")
+                || !tokens.next() || !tokens.verb().equals("search") || !tokens.argument().isEmpty() || tokens.next())
+            System.out.println("Verb constant error!");
+        tokens.close();
+    }
+
+    // The commands CommandTokenizer reads, as "verb|argument"
+    private static List<String> tokenized(String input) throws IOException {
+        List<String> commands = new ArrayList<>();
+        try (CommandTokenizer tokens = new CommandTokenizer(channel(input), StandardCharsets.UTF_8)) {
+            while (tokens.next())
+                commands.add(tokens.verb() + "|" + tokens.argument());
+        }
+        return commands;
+    }
+
+    // The commands Parser read before CommandTokenizer, as "verb|argument"
+    private static List<String> regex(String input) {
+        List<String> commands = new ArrayList<>();
+        try (Scanner scanner = new Scanner(input)) {
+            while (scanner.hasNextLine()) {
+                String editedLine = scanner.nextLine().trim().replaceAll("\\s+", " ");
+                if (editedLine.isEmpty())
+                    continue;
+                String[] command = editedLine.split(" ");
+                String argument = String.join(" ", Arrays.copyOfRange(command, 1, command.length)).trim();
+                commands.add(command[0] + "|" + argument);
+            }
+        }
+        return commands;
+    }
+
+    private static ReadableByteChannel channel(String input) {
+        return Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+    }
+}
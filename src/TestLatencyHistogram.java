@@ -0,0 +1,79 @@
+import java.util.Arrays;
+import java.util.Random;
+
+public class TestLatencyHistogram {
+    // Test program for LatencyHistogram against exact values from a sorted array
+    public static void main( String [ ] args ) {
+        final int NUMS = 100000;
+        final double ERROR = 1.0 / 64;                      // one sub-bucket: 64 per power of two
+        Random random = new Random(28);
+
+        System.out.println("Checking... (no more output means success)");
+
+        // an empty histogram reports zeros
+        LatencyHistogram h = new LatencyHistogram();
+        if (h.getCount() != 0 || h.getValueAtPercentile(50) != 0 || h.getMean() != 0.0 || h.getMax() != 0 || h.getMin() != 0)
+            System.out.println("Empty histogram error!");
+
+        // values below 128 get their own bucket, so every percentile is exact
+        for (long v = 0; v < 128; v++)
+            h.record(v);
+        for (int p = 1; p <= 100; p++)
+            if (h.getValueAtPercentile(p) != (long) Math.ceil(p / 100.0 * 128) - 1)
+                System.out.println("Small value percentile error at p" + p + "!");
+
+        // around every power of two a value is reported as the top of its sub-bucket, 1/64 of its power of two wide
+        for (int k = 1; k < 63; k++) {
+            long edge = 1L << k;
+            for (long v : new long[] {edge - 1, edge, edge + 1}) {
+                LatencyHistogram one = new LatencyHistogram();
+                one.record(v);
+                one.record(Long.MAX_VALUE);                 // so the lower value is not capped at the maximum
+                long reported = one.getValueAtPercentile(50);
+                long width = v < 128 ? 1 : Long.highestOneBit(v) >> 6;
+                long expect = v | (width - 1);
+                if (reported != expect || reported < v || reported - v > v * ERROR)
+                    System.out.println("Bucket edge error at " + v + ": reported " + reported + "!");
+            }
+        }
+
+        // random latencies over many magnitudes, against the exact percentiles of a sorted array
+        long[] values = new long[NUMS];
+        h.reset();
+        if (h.getCount() != 0 || h.getMax() != 0 || h.getValueAtPercentile(99) != 0)
+            System.out.println("Reset error!");
+        long total = 0;
+        for (int i = 0; i < NUMS; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 30);   // 1 ns to about 10^13 ns
+            total += values[i];
+            h.record(values[i]);
+        }
+        h.record(-5);                                       // negative values count as 0
+        values = Arrays.copyOf(values, NUMS + 1);
+        Arrays.sort(values);
+        for (double p : new double[] {0, 0.001, 1, 10, 25, 50, 75, 90, 99, 99.9, 99.99, 100}) {
+            long target = Math.max((long) Math.ceil(p / 100.0 * values.length), 1);
+            long exact = values[(int) target - 1];
+            long reported = h.getValueAtPercentile(p);
+            if (reported < exact || reported - exact > exact * ERROR)
+                System.out.println("Percentile error at p" + p + ": " + reported + " for " + exact + "!");
+        }
+        if (h.getCount() != values.length || h.getMax() != values[values.length - 1] || h.getMin() != 0
+                || h.getMean() != (double) total / values.length)
+            System.out.println("Summary value error!");
+
+        // values near Long.MAX_VALUE land in the last buckets without overflowing the mean
+        LatencyHistogram big = new LatencyHistogram();
+        big.record(Long.MAX_VALUE);
+        big.record(Long.MAX_VALUE - 1);
+        big.record(1L << 62);
+        if (big.getMax() != Long.MAX_VALUE || big.getMin() != 1L << 62 || big.getValueAtPercentile(100) != Long.MAX_VALUE
+                || big.getValueAtPercentile(50) != Long.MAX_VALUE)
+            System.out.println("Large value error!");
+        double mean = (2.0 * Long.MAX_VALUE + Math.pow(2, 62)) / 3;
+        if (Math.abs(big.getMean() - mean) > mean * 1e-12)
+            System.out.println("Large value mean error: " + big.getMean() + "!");
+        if (big.getValueAtPercentile(30) != (1L << 62) + (1L << 56) - 1)
+            System.out.println("Large value bucket error!");
+    }
+}
@@ -0,0 +1,203 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class TestLazyRemove {
+    // Test program for lazy removal (tombstones) in AvlTree
+    public static void main( String [ ] args ) throws IOException {
+        final int NUMS = 4000;
+        final int OPS = 40000;
+        Random random = new Random(53);
+        Aggregate<Integer, Integer> count = Aggregate.count();
+        Aggregate<Integer, Double> sum = Aggregate.sum(x -> x);
+
+        System.out.println("Checking... (no more output means success)");
+
+        for (double ratio : new double[] {0.05, 0.25, 1.0}) {
+            AvlTree<Integer> t = new AvlTree<>();
+            t.setLazyRemove(ratio);
+            t.addAggregate(count);
+            t.addAggregate(sum);
+            TreeSet<Integer> expect = new TreeSet<>();
+            int maxTombstones = 0;
+            for (int i = 0; i < OPS; i++) {
+                int x = random.nextInt(NUMS);
+                if (random.nextInt(5) < 2) {
+                    t.insert(x);                        // revives x if it is a tombstone
+                    expect.add(x);
+                } else {
+                    t.remove(x);
+                    expect.remove(x);
+                }
+                maxTombstones = Math.max(maxTombstones, t.tombstones());
+                if (t.tombstones() > ratio * (t.size() + t.tombstones()))
+                    System.out.println(ratio + " compaction error!");
+                if (i % 1000 == 0)
+                    check(t, expect, count, sum, random, ratio + " insert/remove");
+            }
+            if (ratio < 1 && maxTombstones == 0)
+                System.out.println(ratio + " no tombstones error!");
+            check(t, expect, count, sum, random, ratio + " insert/remove");
+
+            // remove everything: the tree is logically empty even while tombstones remain
+            for (int x = 0; x < NUMS; x++)
+                t.remove(x);
+            expect.clear();
+            if (!t.isEmpty() || t.size() != 0 || t.iterator().hasNext())
+                System.out.println(ratio + " empty error!");
+            try {
+                t.findMin();
+                System.out.println(ratio + " findMin on empty error!");
+            } catch (UnderflowException expected) {
+            }
+            for (int x = 0; x < NUMS; x += 2) {
+                t.insert(x);
+                expect.add(x);
+            }
+            check(t, expect, count, sum, random, ratio + " refill");
+
+            // operations that restructure the tree purge the tombstones first
+            for (int x = 0; x < NUMS; x += 6) {
+                t.remove(x);
+                expect.remove(x);
+            }
+            AvlTree<Integer> upper = t.split(NUMS / 2);
+            if (t.tombstones() != 0)
+                System.out.println(ratio + " split purge error!");
+            upper.remove(NUMS - 2);
+            expect.remove(NUMS - 2);
+            t = AvlTree.join(t, upper);
+            check(t, expect, count, sum, random, ratio + " split/join");
+
+            List<Integer> batch = new ArrayList<>();
+            for (int i = 0; i < NUMS / 4; i++)
+                batch.add(random.nextInt(NUMS));
+            t.remove(batch.get(0));
+            expect.remove(batch.get(0));
+            t.insertAll(batch);
+            expect.addAll(batch);
+            check(t, expect, count, sum, random, ratio + " insertAll");
+
+            AvlTree<Integer> other = new AvlTree<>();
+            other.setLazyRemove(ratio);
+            TreeSet<Integer> otherExpect = new TreeSet<>();
+            for (int i = 0; i < NUMS / 4; i++) {
+                int x = random.nextInt(NUMS);
+                other.insert(x);
+                otherExpect.add(x);
+            }
+            for (int i = 0; i < NUMS / 8; i++) {
+                int x = random.nextInt(NUMS);
+                other.remove(x);
+                otherExpect.remove(x);
+            }
+            t.remove(expect.first());
+            expect.remove(expect.first());
+            t.difference(other);
+            expect.removeAll(otherExpect);
+            check(t, expect, count, sum, random, ratio + " difference");
+            t.union(other);
+            expect.addAll(otherExpect);
+            check(t, expect, count, sum, random, ratio + " union");
+
+            // snapshots hold only live items
+            TreeCodec<Integer> ints = new TreeCodec<Integer>() {
+                public void write(Integer x, DataOutput out) throws IOException { out.writeInt(x); }
+                public Integer read(DataInput in) throws IOException { return in.readInt(); }
+            };
+            t.remove(expect.last());
+            expect.remove(expect.last());
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            t.writeSnapshot(new DataOutputStream(bytes), ints);
+            AvlTree<Integer> copy = new AvlTree<>();
+            copy.addAggregate(count);
+            copy.addAggregate(sum);
+            copy.readSnapshot(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), ints);
+            check(copy, expect, count, sum, random, ratio + " snapshot");
+
+            // switching back to eager removal drops the tombstones
+            t.remove(expect.first());
+            expect.remove(expect.first());
+            t.setLazyRemove(0);
+            if (t.tombstones() != 0)
+                System.out.println(ratio + " eager purge error!");
+            t.remove(expect.last());
+            expect.remove(expect.last());
+            check(t, expect, count, sum, random, ratio + " eager");
+        }
+
+        try {
+            new AvlTree<Integer>().setLazyRemove(1.5);
+            System.out.println("Ratio check error!");
+        } catch (IllegalArgumentException expected) {
+        }
+
+        // findMin and findMax step over runs of tombstones at either end, with or without aggregates
+        for (boolean aggregated : new boolean[] {false, true}) {
+            AvlTree<Integer> t = new AvlTree<>();
+            if (aggregated)
+                t.addAggregate(count);
+            t.setLazyRemove(1.0);
+            for (int x = 0; x < NUMS; x++)
+                t.insert(x);
+            int lo = 0;
+            int hi = NUMS - 1;
+            while (lo < hi) {
+                if (random.nextBoolean())
+                    t.remove(lo++);
+                else
+                    t.remove(hi--);
+                if (t.findMin() != lo || t.findMax() != hi)
+                    System.out.println((aggregated ? "Aggregated" : "Plain") + " findMin/findMax over tombstones error!");
+            }
+            int revived = lo > 0 ? lo - 1 : hi + 1;
+            t.insert(revived);
+            if (t.findMin() != Math.min(lo, revived) || t.findMax() != Math.max(hi, revived) || t.tombstones() != NUMS - 2)
+                System.out.println((aggregated ? "Aggregated" : "Plain") + " findMin after revive error!");
+        }
+    }
+
+    // compares every query against the expected set
+    static void check(AvlTree<Integer> t, TreeSet<Integer> expect, Aggregate<Integer, Integer> count,
+                      Aggregate<Integer, Double> sum, Random random, String what) {
+        t.checkBalance();
+        if (t.size() != expect.size() || t.isEmpty() != expect.isEmpty())
+            System.out.println(what + " size error!");
+        Iterator<Integer> it = t.iterator();
+        for (int x : expect)
+            if (!it.hasNext() || it.next() != x)
+                System.out.println(what + " iteration error!");
+        if (it.hasNext())
+            System.out.println(what + " iteration length error!");
+        if (!expect.isEmpty() && (!t.findMin().equals(expect.first()) || !t.findMax().equals(expect.last())))
+            System.out.println(what + " findMin/findMax error!");
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int x = random.nextInt(4000);
+            keys.add(x);
+            if (t.contains(x) != expect.contains(x))
+                System.out.println(what + " contains error!");
+        }
+        BitSet found = t.containsBatch(keys);
+        for (int i = 0; i < keys.size(); i++)
+            if (found.get(i) != expect.contains(keys.get(i)))
+                System.out.println(what + " containsBatch error!");
+        double total = 0;
+        int lo = random.nextInt(4000);
+        int hi = lo + random.nextInt(2000);
+        for (int x : expect.subSet(lo, true, hi, true))
+            total += x;
+        if (t.aggregate(count) != expect.size() || t.aggregate(sum, lo, hi) != total)
+            System.out.println(what + " aggregate error!");
+    }
+}
@@ -0,0 +1,77 @@
+import java.util.HashMap;
+import java.util.Random;
+
+public class TestLookupCache {
+    // Test program for LookupCache
+    public static void main( String [ ] args ) {
+        final int OPS = 200000;
+        final int KEYS = 500;
+        Random random = new Random(47);
+
+        System.out.println("Checking... (no more output means success)");
+
+        // with invalidation on every change, the cache always agrees with the data behind it
+        for (LookupCache.Policy policy : LookupCache.Policy.values()) {
+            for (int capacity : new int[] {1, 2, 3, 10, 100, 1000}) {
+                LookupCache<Integer, String> cache = new LookupCache<>(capacity, policy);
+                HashMap<Integer, String> data = new HashMap<>();
+                for (int i = 0; i < OPS / 10; i++) {
+                    int key = random.nextInt(KEYS);
+                    if (random.nextInt(5) == 0) {
+                        if (random.nextBoolean())
+                            data.put(key, "v" + i);
+                        else
+                            data.remove(key);
+                        cache.invalidate(key);
+                    } else if (!same(cache.get(key, data::get), data.get(key))) {
+                        System.out.println(policy + " stale result error!");
+                    }
+                    if (cache.size() > capacity)
+                        System.out.println(policy + " capacity error!");
+                }
+                if (cache.getHits() + cache.getMisses() == 0 || cache.getHitRate() < 0 || cache.getHitRate() > 1)
+                    System.out.println(policy + " metrics error!");
+            }
+        }
+
+        // LRU evicts the least recently used key, and so does TinyLFU below a capacity of 3
+        for (LookupCache.Policy policy : LookupCache.Policy.values()) {
+            LookupCache<String, String> lru = new LookupCache<>(2, policy);
+            int[] loads = new int[1];
+            lru.get("a", k -> { loads[0]++; return k; });
+            lru.get("b", k -> { loads[0]++; return k; });
+            lru.get("a", k -> { loads[0]++; return k; });
+            lru.get("c", k -> { loads[0]++; return k; });
+            lru.get("a", k -> { loads[0]++; return k; });
+            if (loads[0] != 3 || lru.getHits() != 2 || lru.getEvictions() != 1)
+                System.out.println(policy + " LRU order error!");
+            lru.get("b", k -> { loads[0]++; return k; });
+            if (loads[0] != 4)
+                System.out.println(policy + " LRU eviction error!");
+        }
+
+        // absent results are cached until invalidated
+        LookupCache<String, String> absent = new LookupCache<>(10, LookupCache.Policy.TINY_LFU);
+        absent.get("x", k -> null);
+        if (absent.get("x", k -> "loaded") != null)
+            System.out.println("Absent caching error!");
+        absent.invalidate("x");
+        if (!"loaded".equals(absent.get("x", k -> "loaded")))
+            System.out.println("Invalidation error!");
+
+        // a one-time scan of cold keys does not flush a hot working set out of TinyLFU
+        LookupCache<Integer, Integer> tiny = new LookupCache<>(100, LookupCache.Policy.TINY_LFU);
+        LookupCache<Integer, Integer> plain = new LookupCache<>(100, LookupCache.Policy.LRU);
+        for (int i = 0; i < 20000; i++) {
+            int key = (i % 3 == 0) ? 1000 + i : random.nextInt(80);
+            tiny.get(key, k -> k);
+            plain.get(key, k -> k);
+        }
+        if (tiny.getHitRate() <= plain.getHitRate())
+            System.out.println("TinyLFU scan resistance error!");
+    }
+
+    private static boolean same(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
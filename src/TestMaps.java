@@ -0,0 +1,87 @@
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+public class TestMaps {
+    // Test program for AvlMap and BstMap
+    public static void main( String [ ] args ) {
+        final int OPS = 200000;
+        final int KEYS = 5000;
+        Random random = new Random(37);
+
+        AvlMap<Integer, String> avl = new AvlMap<>();
+        BstMap<Integer, String> bst = new BstMap<>();
+        TreeMap<Integer, String> expect = new TreeMap<>();
+
+        System.out.println("Checking... (no more output means success)");
+
+        // random mix of put, computeIfAbsent, remove and get, checked against TreeMap
+        for (int i = 0; i < OPS; i++) {
+            int key = random.nextInt(KEYS);
+            String value = "v" + i;
+            switch (random.nextInt(4)) {
+                case 0 -> {
+                    String old = expect.put(key, value);
+                    if (!same(old, avl.put(key, value)) || !same(old, bst.put(key, value)))
+                        System.out.println("Put error!");
+                }
+                case 1 -> {
+                    String now = expect.computeIfAbsent(key, k -> value);
+                    if (!same(now, avl.computeIfAbsent(key, k -> value)) || !same(now, bst.computeIfAbsent(key, k -> value)))
+                        System.out.println("ComputeIfAbsent error!");
+                }
+                case 2 -> {
+                    String old = expect.remove(key);
+                    if (!same(old, avl.remove(key)) || !same(old, bst.remove(key)))
+                        System.out.println("Remove error!");
+                }
+                default -> {
+                    String now = expect.get(key);
+                    if (!same(now, avl.get(key)) || !same(now, bst.get(key)) || avl.containsKey(key) != (now != null))
+                        System.out.println("Get error!");
+                }
+            }
+        }
+
+        // sizes and ordered entries must match
+        if (avl.size() != expect.size() || bst.size() != expect.size())
+            System.out.println("Size error!");
+        List<String> expected = new ArrayList<>();
+        for (Map.Entry<Integer, String> e : expect.entrySet())
+            expected.add(e.getKey() + "=" + e.getValue());
+        List<String> avlEntries = new ArrayList<>();
+        for (Map.Entry<Integer, String> e : avl)
+            avlEntries.add(e.getKey() + "=" + e.getValue());
+        List<String> bstEntries = new ArrayList<>();
+        for (Map.Entry<Integer, String> e : bst)
+            bstEntries.add(e.getKey() + "=" + e.getValue());
+        if (!avlEntries.equals(expected) || !bstEntries.equals(expected))
+            System.out.println("Iteration error!");
+
+        // entries are equal to, and hash like, the TreeMap's entries
+        List<Map.Entry<Integer, String>> expectedPairs = new ArrayList<>(expect.entrySet());
+        List<Map.Entry<Integer, String>> avlPairs = new ArrayList<>();
+        for (Map.Entry<Integer, String> e : avl)
+            avlPairs.add(e);
+        List<Map.Entry<Integer, String>> bstPairs = new ArrayList<>();
+        for (Map.Entry<Integer, String> e : bst)
+            bstPairs.add(e);
+        if (!avlPairs.equals(expectedPairs) || !expectedPairs.equals(avlPairs) || !bstPairs.equals(expectedPairs)
+                || !expectedPairs.equals(bstPairs) || avlPairs.hashCode() != expectedPairs.hashCode()
+                || bstPairs.hashCode() != expectedPairs.hashCode() || !new HashSet<>(avlPairs).containsAll(expectedPairs))
+            System.out.println("Entry equality error!");
+
+        // setValue on an entry writes through
+        for (Map.Entry<Integer, String> e : avl)
+            e.setValue("x");
+        if (!expect.isEmpty() && !"x".equals(avl.get(expect.firstKey())))
+            System.out.println("SetValue error!");
+    }
+
+    private static boolean same(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
@@ -0,0 +1,105 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+public class TestOperationLog {
+    // Test program for OperationLog recovery
+    public static void main( String [ ] args ) throws IOException {
+        final int OPS = 20000;
+        final int KEYS = 3000;
+        Random random = new Random(43);
+        TreeCodec<Integer> ints = new TreeCodec<Integer>() {
+            public void write(Integer x, DataOutput out) throws IOException { out.writeInt(x); }
+            public Integer read(DataInput in) throws IOException { return in.readInt(); }
+        };
+        File directory = Files.createTempDirectory("oplog").toFile();
+
+        System.out.println("Checking... (no more output means success)");
+
+        // log random changes with a checkpoint partway through, then "crash" without closing
+        BST<Integer> tree = new BST<>();
+        TreeSet<Integer> expect = new TreeSet<>();
+        OperationLog<Integer> log = new OperationLog<>(directory, ints, 16);
+        if (log.recover(recovery(tree, ints)) != 0)
+            System.out.println("Empty directory recovery error!");
+        for (int i = 0; i < OPS; i++) {
+            int x = random.nextInt(KEYS);
+            if (random.nextInt(3) == 0) {
+                tree.remove(x);
+                expect.remove(x);
+                log.append(OperationLog.REMOVE, x);
+            } else {
+                tree.insert(x);
+                expect.add(x);
+                log.append(OperationLog.INSERT, x);
+            }
+            if (i == OPS / 2)
+                log.checkpoint(out -> tree.writeSnapshot(out, ints));
+        }
+        log.commit();
+        if (log.sinceCheckpoint() != OPS - OPS / 2 - 1)
+            System.out.println("Checkpoint count error!");
+
+        // recovery loads the checkpoint and replays only the tail
+        BST<Integer> recovered = new BST<>();
+        OperationLog<Integer> reopened = new OperationLog<>(directory, ints, 16);
+        if (reopened.recover(recovery(recovered, ints)) != OPS - OPS / 2 - 1)
+            System.out.println("Replay count error!");
+        if (!items(recovered).equals(new ArrayList<>(expect)))
+            System.out.println("Recovered tree error!");
+
+        // a torn record at the end is cut off and appending continues after the last good one
+        reopened.close();
+        try (FileOutputStream out = new FileOutputStream(new File(directory, "operations.log"), true)) {
+            out.write(new byte[] {0, 0, 0, 9, 1, 2, 3});
+        }
+        BST<Integer> torn = new BST<>();
+        OperationLog<Integer> repaired = new OperationLog<>(directory, ints, 16);
+        repaired.recover(recovery(torn, ints));
+        if (!items(torn).equals(new ArrayList<>(expect)))
+            System.out.println("Torn tail recovery error!");
+        repaired.append(OperationLog.INSERT, KEYS + 1);
+        repaired.close();
+        expect.add(KEYS + 1);
+        BST<Integer> again = new BST<>();
+        new OperationLog<>(directory, ints, 16).recover(recovery(again, ints));
+        if (!items(again).equals(new ArrayList<>(expect)))
+            System.out.println("Append after repair error!");
+
+        // uncommitted records are lost, committed ones are not
+        OperationLog<Integer> lossy = new OperationLog<>(directory, ints, 1000);
+        lossy.recover(recovery(new BST<>(), ints));
+        lossy.append(OperationLog.INSERT, KEYS + 2);
+        BST<Integer> crashed = new BST<>();
+        new OperationLog<>(directory, ints, 16).recover(recovery(crashed, ints));
+        if (crashed.search(KEYS + 2) != null)
+            System.out.println("Uncommitted record survived!");
+
+        try (var files = Files.walk(directory.toPath())) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    private static OperationLog.Recovery<Integer> recovery(BST<Integer> tree, TreeCodec<Integer> ints) {
+        return new OperationLog.Recovery<Integer>() {
+            public void restore(DataInput checkpoint) throws IOException { tree.readSnapshot(checkpoint, ints); }
+            public void insert(Integer x) { tree.insert(x); }
+            public void remove(Integer x) { tree.remove(x); }
+        };
+    }
+
+    private static <T> List<T> items(Iterable<T> tree) {
+        List<T> items = new ArrayList<>();
+        for (T x : tree)
+            items.add(x);
+        return items;
+    }
+}
@@ -0,0 +1,130 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestParser {
+    // Test program for the pipelined Parser against process()
+    public static void main( String [ ] args ) throws IOException, InterruptedException {
+        File directory = Files.createTempDirectory("parser").toFile();
+        File data = new File(directory, "drivers.csv");
+        Files.write(data.toPath(), List.of(
+                "Driver,Nationality,Seasons,Championships,Race_Wins,Podiums,Points",
+                "Carlo Abate,Italy,\"[1962, 1963]\",0,0,0,0",
+                "George Abecassis,United Kingdom,\"[1951, 1952]\",0,0,0,0",
+                "Kenny Acheson,United Kingdom,\"[1983, 1985]\",0,0,0,0",
+                "Andrea de Adamich,Italy,\"[1968, 1970, 1971, 1972, 1973]\",0,0,0,6",
+                "Bad Points,Italy,\"[1960]\",0,0,0,lots",
+                "Short Row,Italy"));
+
+        System.out.println("Checking... (no more output means success)");
+
+        // the pipeline writes the same lines in the same order as process()
+        List<String> commands = new ArrayList<>();
+        for (int round = 0; round < 50; round++) {
+            commands.add("insert Kenny Acheson");
+            commands.add("insert   carlo   ABATE");
+            commands.add("search Kenny Acheson");
+            commands.add("insert Nobody");
+            commands.add("insert Bad Points");
+            commands.add("print");
+            commands.add("remove Carlo Abate");
+            commands.add("search Carlo Abate");
+            commands.add("insert Andrea de Adamich");
+            commands.add("insert George Abecassis");
+            commands.add("print");
+            commands.add("remove");
+            commands.add("jump George Abecassis");
+            commands.add("remove Kenny Acheson");
+            commands.add("remove George Abecassis");
+            commands.add("remove Andrea de Adamich");
+        }
+        File input = new File(directory, "commands.txt");
+        Files.write(input.toPath(), commands);
+        List<String> sequential = run(() -> new Parser(input.getPath(), data.getPath()));
+        if (sequential.size() != commands.size())
+            System.out.println("process() line count error!");
+        for (int threads = 1; threads <= 4; threads++) {
+            int lookupThreads = threads;
+            if (!run(() -> new Parser(input.getPath(), data.getPath(), lookupThreads)).equals(sequential))
+                System.out.println("Pipeline order error with " + threads + " lookup threads!");
+        }
+
+        // logging holds results back until their changes are on disk, but writes the same lines in the end
+        File logged = new File(directory, "log");
+        if (!run(() -> new Parser(input.getPath(), data.getPath(), logged)).equals(sequential))
+            System.out.println("Logged process() output error!");
+        File loggedPipeline = new File(directory, "pipeline-log");
+        if (!run(() -> new Parser(input.getPath(), data.getPath(), 2, loggedPipeline)).equals(sequential))
+            System.out.println("Logged pipeline output error!");
+        File inserts = new File(directory, "inserts.txt");
+        Files.write(inserts.toPath(), List.of("insert Carlo Abate", "insert Kenny Acheson", "insert George Abecassis",
+                "print"));
+        File printOnly = new File(directory, "print.txt");
+        Files.write(printOnly.toPath(), List.of("print"));
+        File recovered = new File(directory, "recovered");
+        List<String> built = run(() -> new Parser(inserts.getPath(), data.getPath(), recovered));
+        if (!run(() -> new Parser(printOnly.getPath(), data.getPath(), recovered)).equals(built.subList(3, 4))
+                || !run(() -> new Parser(printOnly.getPath(), data.getPath(), 1, recovered)).equals(built.subList(3, 4)))
+            System.out.println("Recovered tree error!");
+
+        // a malformed dataset row fails the pipeline like process() instead of hanging it
+        List<String> failing = new ArrayList<>();
+        failing.add("insert Carlo Abate");
+        failing.add("insert Short Row");
+        for (int i = 0; i < 3000; i++)                     // more than the pipeline window behind the failure
+            failing.add("search Carlo Abate");
+        File bad = new File(directory, "failing.txt");
+        Files.write(bad.toPath(), failing);
+        RuntimeException[] thrown = new RuntimeException[2];
+        List<String> expect = run(() -> {
+            try {
+                new Parser(bad.getPath(), data.getPath());
+            }
+            catch (RuntimeException e) {
+                thrown[0] = e;
+            }
+        });
+        List<List<String>> written = new ArrayList<>();
+        Thread pipeline = new Thread(() -> {
+            try {
+                written.add(run(() -> {
+                    try {
+                        new Parser(bad.getPath(), data.getPath(), 2);
+                    }
+                    catch (RuntimeException e) {
+                        thrown[1] = e;
+                    }
+                }));
+            }
+            catch (IOException e) {
+                System.out.println("Error reading result file: " + e.getMessage());
+            }
+        });
+        pipeline.setDaemon(true);
+        pipeline.start();
+        pipeline.join(30000);
+        if (pipeline.isAlive())
+            System.out.println("Pipeline hang on a malformed row!");
+        else {
+            if (thrown[0] == null || thrown[1] == null || thrown[0].getClass() != thrown[1].getClass())
+                System.out.println("Pipeline failure not reported like process()!");
+            if (!written.get(0).equals(expect) || !expect.equals(List.of("insert Carlo Abate")))
+                System.out.println("Pipeline output before the failure error!");
+        }
+    }
+
+    interface Run {
+        void run() throws IOException;
+    }
+
+    // Runs a parse and returns the lines it appended to ./result.txt
+    private static List<String> run(Run parse) throws IOException {
+        File result = new File("./result.txt");
+        int before = result.exists() ? Files.readAllLines(result.toPath()).size() : 0;
+        parse.run();
+        List<String> lines = Files.readAllLines(result.toPath());
+        return new ArrayList<>(lines.subList(before, lines.size()));
+    }
+}
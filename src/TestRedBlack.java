@@ -0,0 +1,52 @@
+public class TestRedBlack {
+    // Test program
+    public static void main( String [ ] args ) {
+        RedBlackTree<Integer> t = new RedBlackTree<>();
+        final int SMALL = 40;
+        final int NUMS = 1000000;  // must be even
+        final int GAP = 37;
+
+        System.out.println("Checking... (no more output means success)");
+
+        // inserts sequence of numbers "GAP" apart into the red-black tree
+        for (int i = GAP; i != 0; i = (i + GAP) % NUMS) {
+            t.insert(i);
+            if (NUMS < SMALL)
+                t.checkBalance();
+        }
+        t.checkBalance();
+
+        // removes odd numbers
+        for (int i = 1; i < NUMS; i += 2) {
+            t.remove(i);
+            if (NUMS < SMALL)
+                t.checkBalance();
+        }
+        t.checkBalance();
+
+        if (NUMS < SMALL)
+            t.printTree();
+
+        // checks to see that the minimum value is 2 and the maximum value is NUMS - 2
+        if (t.findMin() != 2 || t.findMax() != NUMS - 2)
+            System.out.println("FindMin or FindMax error!");
+
+        // checks to see if the tree contains even numbers (it should!)
+        for (int i = 2; i < NUMS; i += 2)
+            if (!t.contains(i))
+                System.out.println("Find error1!");
+
+        // checks to see if the tree contains odd numbers (it shouldn't!)
+        for (int i = 1; i < NUMS; i += 2) {
+            if (t.contains(i))
+                System.out.println("Find error2!");
+        }
+
+        // removes everything that is left; the tree must end up empty
+        for (int i = 2; i < NUMS; i += 2) {
+            t.remove(i);
+        }
+        if (!t.isEmpty())
+            System.out.println("Remove error!");
+    }
+}
@@ -0,0 +1,101 @@
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class TestScalingSweep {
+    // Test program for ScalingSweep
+    public static void main( String [ ] args ) throws IOException {
+        System.out.println("Checking... (no more output means success)");
+
+        // repetitions reduce to median, min and max
+        ScalingSweep sweep = new ScalingSweep();
+        for (int n : new int[] {1000, 2000, 4000, 8000, 16000}) {
+            double logN = Math.log(n) / Math.log(2);
+            for (long noise : new long[] {0, 3000, -2000}) {
+                sweep.record(n, "AVL", "sorted", "insert", (long) (50 * n * logN) + noise);
+                sweep.record(n, "BST", "sorted", "insert", 3L * n * n + noise);
+            }
+        }
+        sweep.record(500, "AVL", "random", "search", 1000);         // one size only: no fit
+        List<ScalingSweep.Row> rows = sweep.rows();
+        if (rows.size() != 11)
+            System.out.println("Row count error!");
+        ScalingSweep.Row first = rows.get(0);
+        if (first.n != 1000 || !first.tree.equals("AVL") || first.reps != 3
+                || Math.abs(first.medianSeconds - 50 * 1000 * Math.log(1000) / Math.log(2) / 1e9) > 1e-8
+                || first.minSeconds >= first.medianSeconds || first.maxSeconds <= first.medianSeconds)
+            System.out.println("Median error!");
+
+        // growth is told apart and the exponent estimated
+        List<ScalingSweep.Fit> fits = ScalingSweep.fit(rows);
+        if (fits.size() != 2)
+            System.out.println("Fit count error!");
+        for (ScalingSweep.Fit fit : fits) {
+            if (fit.tree.equals("AVL") && (!fit.best().equals(ScalingSweep.N_LOG_N) || fit.nLogNR2 < 0.999
+                    || Math.abs(fit.nLogNCoefficient - 50e-9) > 1e-9 || fit.exponent < 1 || fit.exponent > 1.2))
+                System.out.println("n log n fit error!");
+            if (fit.tree.equals("BST") && (!fit.best().equals(ScalingSweep.QUADRATIC) || fit.quadraticR2 < 0.999
+                    || Math.abs(fit.exponent - 2) > 0.01))
+                System.out.println("n^2 fit error!");
+        }
+
+        // results and metadata survive a round trip
+        File file = File.createTempFile("sweep", ".txt");
+        file.deleteOnExit();
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put("java.version", "17");
+        metadata.put("args", "data.csv 1000,2000 --sweep");
+        ScalingSweep.write(file, metadata, rows);
+        List<ScalingSweep.Row> read = ScalingSweep.read(file);
+        if (read.size() != rows.size() || !ScalingSweep.readMetadata(file).equals(metadata))
+            System.out.println("Round trip error!");
+        for (int i = 0; i < rows.size(); i++)
+            if (!read.get(i).toString().equals(rows.get(i).toString()))
+                System.out.println("Round trip row error!");
+
+        // the file format does not depend on the default locale (a decimal comma would split the fields)
+        Locale before = Locale.getDefault();
+        Locale.setDefault(Locale.GERMANY);
+        try {
+            ScalingSweep.write(file, metadata, rows);
+            read = ScalingSweep.read(file);
+            for (int i = 0; i < rows.size(); i++)
+                if (!read.get(i).toString().equals(rows.get(i).toString()))
+                    System.out.println("Locale round trip error!");
+            if (!fits.get(0).toString().contains("."))
+                System.out.println("Locale fit format error!");
+        } catch (RuntimeException e) {
+            System.out.println("Locale round trip error: " + e + "!");
+        } finally {
+            Locale.setDefault(before);
+        }
+
+        // a run compared with itself has no regressions; a slower one is flagged
+        for (ScalingSweep.Comparison comparison : ScalingSweep.compare(rows, read, 0.25))
+            if (comparison.regression)
+                System.out.println("Self comparison error!");
+        ScalingSweep slower = new ScalingSweep();
+        slower.record(16000, "BST", "sorted", "insert", 2 * 3L * 16000 * 16000);
+        slower.record(1000, "AVL", "sorted", "insert", 2 * 50 * 1000 * 10);            // too small to count
+        List<ScalingSweep.Comparison> comparisons = ScalingSweep.compare(slower.rows(), read, 0.25);
+        if (comparisons.size() != 2 || !comparisons.get(0).regression || comparisons.get(1).regression)
+            System.out.println("Regression error!");
+
+        // growth that turns from n log n into n^2 is flagged
+        ScalingSweep worse = new ScalingSweep();
+        for (int n : new int[] {1000, 2000, 4000, 8000, 16000})
+            worse.record(n, "AVL", "sorted", "insert", 3L * n * n);
+        if (ScalingSweep.growthRegressions(ScalingSweep.fit(worse.rows()), fits).size() != 1
+                || !ScalingSweep.growthRegressions(fits, fits).isEmpty())
+            System.out.println("Growth regression error!");
+
+        try {
+            ScalingSweep.read(new File("TestScalingSweep.java"));
+            System.out.println("Bad file error!");
+        } catch (IOException expected) {
+        }
+    }
+}
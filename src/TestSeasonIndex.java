@@ -0,0 +1,71 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class TestSeasonIndex {
+    // Test program for SeasonIndex
+    public static void main( String [ ] args ) {
+        final int DRIVERS = 3000;
+        final int QUERIES = 2000;
+        Random random = new Random(41);
+        SeasonIndex index = new SeasonIndex();
+        List<F1> drivers = new ArrayList<>();
+
+        System.out.println("Checking... (no more output means success)");
+
+        // drivers with no year among their seasons are not indexed
+        if (index.insert(new F1("Nobody", "Nowhere", new String[] {"unknown"}, 0, 0, 0, 0)) || !index.isEmpty())
+            System.out.println("Seasonless driver error!");
+
+        for (int i = 0; i < DRIVERS; i++) {
+            int first = 1950 + random.nextInt(75);
+            String[] seasons = new String[1 + random.nextInt(4)];
+            for (int s = 0; s < seasons.length; s++)
+                seasons[s] = String.valueOf(Math.min(2024, first + random.nextInt(15)));
+            seasons[0] = String.valueOf(first);
+            F1 driver = new F1("Driver " + i, "Country " + random.nextInt(20), seasons,
+                    random.nextInt(3), random.nextInt(10), random.nextInt(20), random.nextInt(500));
+            drivers.add(driver);
+            if (!index.insert(driver))
+                System.out.println("Insert error!");
+        }
+        if (index.insert(drivers.get(0)))
+            System.out.println("Duplicate insert error!");
+        index.checkInvariants();
+
+        // remove every third driver, then check queries against a full scan
+        for (int i = 0; i < DRIVERS; i += 3)
+            if (!index.remove(drivers.get(i)))
+                System.out.println("Remove error!");
+        if (index.remove(drivers.get(0)))
+            System.out.println("Double remove error!");
+        index.checkInvariants();
+        if (index.size() != DRIVERS - (DRIVERS + 2) / 3)
+            System.out.println("Size error!");
+        if (index.height() > 1.45 * Math.log(index.size() + 2) / Math.log(2))
+            System.out.println("Height error!");
+
+        for (int q = 0; q < QUERIES; q++) {
+            int from = 1945 + random.nextInt(85);
+            int to = q % 2 == 0 ? from : from + random.nextInt(10);
+            List<F1> expected = new ArrayList<>();
+            for (int i = 0; i < DRIVERS; i++) {
+                F1 driver = drivers.get(i);
+                if (i % 3 != 0 && driver.getFirstSeason() <= to && driver.getLastSeason() >= from)
+                    expected.add(driver);
+            }
+            List<F1> found = to == from ? index.activeIn(from) : index.activeBetween(from, to);
+            if (found.size() != expected.size() || !found.containsAll(expected))
+                System.out.println("Query error for " + from + "-" + to + "!");
+            for (int i = 1; i < found.size(); i++)
+                if (found.get(i - 1).getFirstSeason() > found.get(i).getFirstSeason())
+                    System.out.println("Order error!");
+        }
+        if (!index.activeBetween(2000, 1990).isEmpty())
+            System.out.println("Empty range error!");
+
+        index.makeEmpty();
+        if (!index.isEmpty() || index.size() != 0 || !index.activeIn(2000).isEmpty())
+            System.out.println("makeEmpty error!");
+    }
+}
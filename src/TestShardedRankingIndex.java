@@ -0,0 +1,136 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class TestShardedRankingIndex {
+    // Test program for ShardedRankingIndex under concurrent updates
+    public static void main( String [ ] args ) throws InterruptedException {
+        final int THREADS = 4;
+        final int OPS = 50000;
+        final int SHARDS = 8;
+        final int RANGE = 20000;
+
+        System.out.println("Checking... (no more output means success)");
+
+        // sample the even keys, so the splitters are 2500, 5000, ... 17500
+        List<Integer> sample = new ArrayList<>();
+        for (int i = 0; i < RANGE; i += 2)
+            sample.add(i);
+        Collections.shuffle(sample, new Random(5));
+        ShardedRankingIndex<Integer> index = new ShardedRankingIndex<>(sample, SHARDS);
+        if (index.shardCount() != SHARDS)
+            System.out.println("Shard count error!");
+
+        // each thread owns the keys equal to its number mod THREADS, so its reference set is exact
+        List<TreeSet<Integer>> expect = new ArrayList<>();
+        List<Thread> writers = new ArrayList<>();
+        boolean[] failed = new boolean[THREADS + 1];
+        for (int t = 0; t < THREADS; t++) {
+            TreeSet<Integer> mine = new TreeSet<>();
+            expect.add(mine);
+            int owner = t;
+            writers.add(new Thread(() -> {
+                Random random = new Random(100 + owner);
+                for (int i = 0; i < OPS; i++) {
+                    int key = randomKey(random, RANGE, SHARDS) / THREADS * THREADS + owner;
+                    int op = random.nextInt(3);
+                    if (op == 0) {
+                        index.insert(key);
+                        mine.add(key);
+                    } else if (op == 1) {
+                        index.remove(key);
+                        mine.remove(key);
+                    } else if (index.contains(key) != mine.contains(key)) {
+                        failed[owner] = true;
+                    }
+                }
+            }));
+        }
+
+        // a reader iterating during the updates always sees a sorted stream with no duplicates
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread reader = new Thread(() -> {
+            while (running.get()) {
+                Integer previous = null;
+                for (Integer x : index) {
+                    if (previous != null && previous >= x)
+                        failed[THREADS] = true;
+                    previous = x;
+                }
+            }
+        });
+        for (Thread writer : writers)
+            writer.start();
+        reader.start();
+        for (Thread writer : writers)
+            writer.join();
+        running.set(false);
+        reader.join();
+        for (int t = 0; t < THREADS; t++)
+            if (failed[t])
+                System.out.println("Concurrent contains error in thread " + t + "!");
+        if (failed[THREADS])
+            System.out.println("Concurrent iteration order error!");
+
+        // afterwards the merged iterator equals the union of the reference sets
+        TreeSet<Integer> all = new TreeSet<>();
+        for (TreeSet<Integer> mine : expect)
+            all.addAll(mine);
+        if (!items(index).equals(new ArrayList<>(all)) || index.size() != all.size())
+            System.out.println("Merged contents error!");
+        for (int key = -THREADS; key < RANGE + THREADS; key++)
+            if (index.contains(key) != all.contains(key))
+                System.out.println("Contains error for " + key + "!");
+
+        // keys at and around every shard boundary go to the right shard
+        ShardedRankingIndex<Integer> edges = new ShardedRankingIndex<>(sample, SHARDS);
+        TreeSet<Integer> expectEdges = new TreeSet<>();
+        for (int s = 0; s <= SHARDS; s++) {
+            int boundary = s * RANGE / SHARDS;
+            for (int key = boundary - 1; key <= boundary + 1; key++) {
+                edges.insert(key);
+                expectEdges.add(key);
+            }
+        }
+        edges.insert(Integer.MIN_VALUE);
+        edges.insert(Integer.MAX_VALUE);
+        expectEdges.add(Integer.MIN_VALUE);
+        expectEdges.add(Integer.MAX_VALUE);
+        if (!items(edges).equals(new ArrayList<>(expectEdges)))
+            System.out.println("Shard boundary contents error!");
+        edges.remove(RANGE / SHARDS);
+        expectEdges.remove(RANGE / SHARDS);
+        if (edges.contains(RANGE / SHARDS) || !edges.contains(RANGE / SHARDS - 1) || !edges.contains(RANGE / SHARDS + 1)
+                || !items(edges).equals(new ArrayList<>(expectEdges)))
+            System.out.println("Shard boundary remove error!");
+
+        // a skewed sample with repeated quantiles, and an empty one, still give a working index
+        ShardedRankingIndex<Integer> skewed = new ShardedRankingIndex<>(Collections.nCopies(100, 7), SHARDS);
+        ShardedRankingIndex<Integer> unsampled = new ShardedRankingIndex<>(new ArrayList<Integer>(), SHARDS);
+        if (skewed.shardCount() != 2 || unsampled.shardCount() != 1)
+            System.out.println("Skewed sample shard count error!");
+        for (int key : new int[] {9, 7, 3, 7}) {
+            skewed.insert(key);
+            unsampled.insert(key);
+        }
+        if (!items(skewed).equals(List.of(3, 7, 9)) || !items(unsampled).equals(List.of(3, 7, 9)))
+            System.out.println("Skewed sample contents error!");
+    }
+
+    // a random key, often right at or next to a shard boundary
+    private static int randomKey(Random random, int range, int shards) {
+        if (random.nextInt(4) == 0)
+            return random.nextInt(shards) * (range / shards) + random.nextInt(5) - 2;
+        return random.nextInt(range);
+    }
+
+    private static <T> List<T> items(Iterable<T> tree) {
+        List<T> items = new ArrayList<>();
+        for (T x : tree)
+            items.add(x);
+        return items;
+    }
+}
@@ -0,0 +1,140 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class TestSnapshot {
+    // Test program for BST and AvlTree binary snapshots
+    public static void main( String [ ] args ) throws IOException {
+        final int NUMS = 20000;
+        Random random = new Random(41);
+        TreeCodec<Integer> ints = new TreeCodec<Integer>() {
+            public void write(Integer x, DataOutput out) throws IOException { out.writeInt(x); }
+            public Integer read(DataInput in) throws IOException { return in.readInt(); }
+        };
+
+        System.out.println("Checking... (no more output means success)");
+
+        // random trees come back with the same items, order, size and height
+        AvlTree<Integer> avl = new AvlTree<>();
+        BST<Integer> bst = new BST<>();
+        for (int i = 0; i < NUMS; i++) {
+            int x = random.nextInt(NUMS * 4);
+            avl.insert(x);
+            bst.insert(x);
+        }
+        AvlTree<Integer> avlCopy = new AvlTree<>();
+        avlCopy.readSnapshot(in(avlBytes(avl, ints)), ints);
+        BST<Integer> bstCopy = new BST<>();
+        bstCopy.readSnapshot(in(bstBytes(bst, ints)), ints);
+        if (!items(avlCopy).equals(items(avl)) || avlCopy.size() != avl.size() || avlCopy.height() != avl.height())
+            System.out.println("AVL snapshot error!");
+        if (!items(bstCopy).equals(items(bst)) || bstCopy.height() != bst.height())
+            System.out.println("BST snapshot error!");
+        avlCopy.checkBalance();
+
+        // a restored tree is fully usable
+        avlCopy.insert(-1);
+        avlCopy.remove(items(avl).get(0));
+        avlCopy.checkBalance();
+        if (!avlCopy.contains(-1) || avlCopy.size() != avl.size())
+            System.out.println("Restored AVL tree error!");
+
+        // a degenerate BST (sorted inserts) round-trips without deep recursion
+        BST<Integer> chain = new BST<>();
+        for (int i = 0; i < NUMS * 5; i++)
+            chain.insert(i);
+        BST<Integer> chainCopy = new BST<>();
+        chainCopy.readSnapshot(in(bstBytes(chain, ints)), ints);
+        if (chainCopy.height() != NUMS * 5 - 1 || chainCopy.search(NUMS) == null)
+            System.out.println("Degenerate BST snapshot error!");
+
+        // empty trees
+        AvlTree<Integer> empty = new AvlTree<>();
+        empty.readSnapshot(in(avlBytes(new AvlTree<>(), ints)), ints);
+        if (!empty.isEmpty() || empty.size() != 0)
+            System.out.println("Empty snapshot error!");
+
+        // F1 records keep every field
+        F1 hamilton = new F1("Lewis Hamilton", "United Kingdom", new String[] {"2007", "2008"}, 7, 105, 202, 4639.5);
+        AvlTree<F1> drivers = new AvlTree<>();
+        drivers.insert(hamilton);
+        AvlTree<F1> driversCopy = new AvlTree<>();
+        driversCopy.readSnapshot(in(avlBytes(drivers, new F1Codec())), new F1Codec());
+        F1 restored = driversCopy.findMin();
+        if (!restored.equals(hamilton) || !restored.getNationality().equals("United Kingdom")
+                || restored.getSeasons().length != 2 || restored.getPoints() != 4639.5)
+            System.out.println("F1 codec error!");
+
+        // wrong or truncated snapshots are rejected
+        if (!rejected(() -> new BST<Integer>().readSnapshot(in(avlBytes(avl, ints)), ints)))
+            System.out.println("Wrong snapshot type accepted!");
+        byte[] bytes = avlBytes(avl, ints);
+        byte[] truncated = java.util.Arrays.copyOf(bytes, bytes.length / 2);
+        if (!rejected(() -> new AvlTree<Integer>().readSnapshot(in(truncated), ints)))
+            System.out.println("Truncated snapshot accepted!");
+        byte[] badHeight = avlBytes(drivers, new F1Codec());
+        badHeight[8] = (byte) (3 << 2);                  // claim height 3 for a single leaf
+        if (!rejected(() -> new AvlTree<F1>().readSnapshot(in(badHeight), new F1Codec())))
+            System.out.println("Inconsistent heights accepted!");
+        for (int delta : new int[] {-1, 1}) {
+            if (!rejected(() -> new AvlTree<Integer>().readSnapshot(in(withCount(avlBytes(avl, ints), delta)), ints)))
+                System.out.println("AVL snapshot with a wrong count accepted!");
+            if (!rejected(() -> new BST<Integer>().readSnapshot(in(withCount(bstBytes(bst, ints), delta)), ints)))
+                System.out.println("BST snapshot with a wrong count accepted!");
+        }
+        AvlTree<Integer> counted = new AvlTree<>();
+        byte[] padded = java.util.Arrays.copyOf(withCount(avlBytes(avl, ints), 1), bytes.length + 64);
+        if (!rejected(() -> counted.readSnapshot(in(padded), ints)) || !counted.isEmpty())
+            System.out.println("AVL snapshot with too high a count accepted or half loaded!");
+    }
+
+    // Changes the node count in a snapshot's header
+    private static byte[] withCount(byte[] snapshot, int delta) {
+        java.nio.ByteBuffer header = java.nio.ByteBuffer.wrap(snapshot);
+        header.putInt(4, header.getInt(4) + delta);
+        return snapshot;
+    }
+
+    private interface Load {
+        void run() throws IOException;
+    }
+
+    private static boolean rejected(Load load) {
+        try {
+            load.run();
+            return false;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private static <T extends Comparable<? super T>> byte[] avlBytes(AvlTree<T> tree, TreeCodec<T> codec) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        tree.writeSnapshot(new DataOutputStream(bytes), codec);
+        return bytes.toByteArray();
+    }
+
+    private static <T extends Comparable<? super T>> byte[] bstBytes(BST<T> tree, TreeCodec<T> codec) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        tree.writeSnapshot(new DataOutputStream(bytes), codec);
+        return bytes.toByteArray();
+    }
+
+    private static DataInputStream in(byte[] bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    private static <T> List<T> items(Iterable<T> tree) {
+        List<T> items = new ArrayList<>();
+        for (T x : tree)
+            items.add(x);
+        return items;
+    }
+}
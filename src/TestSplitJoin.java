@@ -0,0 +1,159 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+public class TestSplitJoin {
+    // Test program for insertAll, split, join and the set operations on AvlTree
+    public static void main( String [ ] args ) {
+        final int NUMS = 20000;
+        final int TRIALS = 50;
+        Random random = new Random(37);
+
+        System.out.println("Checking... (no more output means success)");
+
+        for (int trial = 0; trial < TRIALS; trial++) {
+            TreeSet<Integer> expectA = new TreeSet<>();
+            TreeSet<Integer> expectB = new TreeSet<>();
+            AvlTree<Integer> a = build(random, random.nextInt(NUMS), NUMS, expectA);
+            AvlTree<Integer> b = build(random, random.nextInt(NUMS / 10 + 1), NUMS, expectB);
+
+            // split at a random key, then join the halves back together
+            int key = random.nextInt(NUMS);
+            AvlTree<Integer> upper = a.split(key);
+            a.checkBalance();
+            upper.checkBalance();
+            check(a, expectA.headSet(key, false), "split lower");
+            check(upper, expectA.tailSet(key, true), "split upper");
+            a = AvlTree.join(a, upper);
+            a.checkBalance();
+            check(a, expectA, "join");
+
+            // union, intersection and difference against copies of the expected sets
+            AvlTree<Integer> u = copy(a);
+            u.union(b);
+            TreeSet<Integer> expectU = new TreeSet<>(expectA);
+            expectU.addAll(expectB);
+            check(u, expectU, "union");
+
+            AvlTree<Integer> in = copy(a);
+            in.intersection(b);
+            TreeSet<Integer> expectIn = new TreeSet<>(expectA);
+            expectIn.retainAll(expectB);
+            check(in, expectIn, "intersection");
+
+            AvlTree<Integer> d = copy(a);
+            d.difference(b);
+            TreeSet<Integer> expectD = new TreeSet<>(expectA);
+            expectD.removeAll(expectB);
+            check(d, expectD, "difference");
+
+            // the argument of a set operation must not change
+            check(b, expectB, "set operation argument");
+        }
+
+        // equal items already in the tree are kept, whichever path insertAll or union takes
+        for (int batchSize : new int[] {10, 300, 2000}) {        // one at a time, split/join, rebuild
+            AvlTree<Key> t = new AvlTree<>();
+            List<Key> existing = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                Key k = new Key(i * 2);
+                existing.add(k);
+                t.insert(k);
+            }
+            List<Key> batch = new ArrayList<>();
+            for (int i = 0; i < batchSize; i++)
+                batch.add(new Key(random.nextInt(4000)));
+            AvlTree<Key> u = new AvlTree<>();
+            for (Key k : existing)
+                u.insert(k);
+            AvlTree<Key> v = new AvlTree<>();
+            for (Key k : existing)
+                v.insert(k);
+            AvlTree<Key> other = new AvlTree<>();
+            other.insertAll(batch);
+            int otherSize = other.size();
+            t.insertAll(batch);
+            u.union(other);
+            v.intersection(other);
+            v.checkBalance();
+            for (Key k : v)
+                if (k.id % 2 != 0 || k.id >= 2000 || k != existing.get(k.id / 2) || !other.contains(k))
+                    System.out.println("Intersection did not keep the existing item with a batch of " + batchSize + "!");
+            if (other.size() != otherSize)
+                System.out.println("Set operation changed its argument with a batch of " + batchSize + "!");
+            for (AvlTree<Key> result : List.of(t, u)) {
+                result.checkBalance();
+                int kept = 0;
+                for (Key k : result)
+                    if (k.id % 2 == 0 && k.id < 2000 && k == existing.get(k.id / 2))
+                        kept++;
+                if (kept != existing.size())
+                    System.out.println("Existing item replaced by a batch of " + batchSize + "!");
+            }
+        }
+
+        // joining overlapping trees must be rejected
+        AvlTree<Integer> low = new AvlTree<>();
+        AvlTree<Integer> high = new AvlTree<>();
+        low.insert(5);
+        high.insert(5);
+        try {
+            AvlTree.join(low, high);
+            System.out.println("Join overlap error!");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
+    // a key compared by id only, so equal keys can be told apart by identity
+    private static class Key implements Comparable<Key> {
+        final int id;
+
+        Key(int id) {
+            this.id = id;
+        }
+
+        public int compareTo(Key other) {
+            return Integer.compare(id, other.id);
+        }
+    }
+
+    // builds a tree from random keys, half with insert and half with insertAll
+    private static AvlTree<Integer> build(Random random, int count, int range, TreeSet<Integer> expect) {
+        AvlTree<Integer> t = new AvlTree<>();
+        List<Integer> batch = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int key = random.nextInt(range);
+            expect.add(key);
+            if (i % 2 == 0)
+                t.insert(key);
+            else
+                batch.add(key);
+        }
+        t.insertAll(batch);
+        t.checkBalance();
+        return t;
+    }
+
+    // copies a tree by re-inserting its items
+    private static AvlTree<Integer> copy(AvlTree<Integer> t) {
+        AvlTree<Integer> c = new AvlTree<>();
+        for (Integer x : t)
+            c.insert(x);
+        return c;
+    }
+
+    // compares size, order and contents of a tree with the expected set
+    private static void check(AvlTree<Integer> t, SortedSet<Integer> expect, String what) {
+        t.checkBalance();
+        if (t.size() != expect.size())
+            System.out.println(what + " size error!");
+        List<Integer> items = new ArrayList<>();
+        for (Integer x : t)
+            items.add(x);
+        if (!items.equals(new ArrayList<>(expect)))
+            System.out.println(what + " contents error!");
+    }
+}
@@ -0,0 +1,72 @@
+public class TestTreeStats {
+    // Test program for the TreeStats counters on small trees whose counts are worked out by hand
+    public static void main( String [ ] args ) {
+        System.out.println("Checking... (no more output means success)");
+
+        // BST: insert finds first and then walks down again, so each level costs 2 visits; a node is passed
+        // with 1 comparison going left and 2 going right or matching
+        BST<Integer> bst = new BST<>();
+        TreeStats stats = new TreeStats();
+        bst.setStats(stats);
+        for (int x : new int[] {4, 2, 6, 1, 3, 5, 7})
+            bst.insert(x);
+        // visits 0+2+2+4+4+4+4, comparisons 0+2+4+4+6+6+8
+        expect(stats, TreeStats.Op.INSERT, 7, 30, 20, 4, "BST insert");
+        if (stats.getHeight() != -1)
+            System.out.println("BST height published before a snapshot!");
+
+        bst.search(3);                                      // 4 left, 2 right, 3 match: 3 visits, 5 comparisons
+        bst.search(8);                                      // 4, 6, 7 right, then off the tree: 3 visits, 6 comparisons
+        expect(stats, TreeStats.Op.SEARCH, 2, 11, 6, 3, "BST search");
+
+        bst.remove(4);                                      // match at the root, then successor walk 6, 5: 3 visits, 2 comparisons
+        bst.remove(1);                                      // 5 left, 2 left, 1 match: 3 visits, 4 comparisons
+        expect(stats, TreeStats.Op.REMOVE, 2, 6, 6, 3, "BST remove");
+
+        TreeStats frozen = stats.snapshot();
+        if (frozen.getHeight() != 2 || stats.getHeight() != 2 || frozen.snapshot().getHeight() != 2)
+            System.out.println("BST snapshot height error!");
+        bst.insert(8);
+        bst.insert(9);
+        if (frozen.getHeight() != 2 || stats.getHeight() != 2 || stats.snapshot().getHeight() != 4)
+            System.out.println("BST published height error!");
+
+        // AVL: one visit and one three-way comparison per node on the path; a double rotation also counts its singles
+        AvlTree<Integer> avl = new AvlTree<>();
+        TreeStats avlStats = new TreeStats();
+        avl.setStats(avlStats);
+        avl.insert(3);                                      // no nodes on the path
+        avl.insert(1);                                      // 3
+        avl.insert(2);                                      // 3, 1, then a left-right double rotation at 3
+        if (avlStats.getRotations(TreeStats.Rotation.DOUBLE_WITH_LEFT_CHILD) != 1
+                || avlStats.getRotations(TreeStats.Rotation.WITH_RIGHT_CHILD) != 1
+                || avlStats.getRotations(TreeStats.Rotation.WITH_LEFT_CHILD) != 1 || avlStats.getHeight() != 1)
+            System.out.println("AVL double rotation count error!");
+        avl.insert(4);                                      // 2, 3
+        avl.insert(5);                                      // 2, 3, 4, then a single rotation at 3
+        expect(avlStats, TreeStats.Op.INSERT, 5, 8, 8, 3, "AVL insert");
+        if (avlStats.getSingleRotations() != 3 || avlStats.getDoubleRotations() != 1
+                || avlStats.getRotations(TreeStats.Rotation.DOUBLE_WITH_RIGHT_CHILD) != 0)
+            System.out.println("AVL rotation count error!");
+        if (avlStats.getHeight() != 2)                      // published after each operation, no snapshot needed
+            System.out.println("AVL published height error!");
+
+        avl.contains(5);                                    // 2, 4, 5
+        expect(avlStats, TreeStats.Op.SEARCH, 1, 3, 3, 3, "AVL search");
+
+        avlStats.reset();
+        expect(avlStats, TreeStats.Op.INSERT, 0, 0, 0, 0, "AVL reset");
+        if (avlStats.getSingleRotations() != 0 || avlStats.getDoubleRotations() != 0 || avlStats.getHeight() != 2)
+            System.out.println("AVL reset error!");
+    }
+
+    // Checks the counters of one operation type
+    private static void expect( TreeStats stats, TreeStats.Op op, long operations, long comparisons, long visits,
+                                long maxPath, String what ) {
+        if (stats.getOperations(op) != operations || stats.getComparisons(op) != comparisons
+                || stats.getNodesVisited(op) != visits || stats.getMaxPathLength(op) != maxPath)
+            System.out.println(what + " counter error: " + stats.getOperations(op) + " ops, "
+                    + stats.getComparisons(op) + " comparisons, " + stats.getNodesVisited(op) + " visits, max path "
+                    + stats.getMaxPathLength(op) + "!");
+    }
+}
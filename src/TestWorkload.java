@@ -0,0 +1,50 @@
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+public class TestWorkload {
+    // Test program for the Workload generators
+    public static void main( String [ ] args ) {
+        final int NUMS = 10000;
+        List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < NUMS; i++)
+            keys.add((i * 7919) % NUMS);                    // a fixed permutation of 0..NUMS-1
+
+        System.out.println("Checking... (no more output means success)");
+
+        // every order is a permutation of the keys, and the same seed gives the same sequences
+        for (Workload.Order order : Workload.Order.values()) {
+            for (Workload.Lookup lookup : Workload.Lookup.values()) {
+                Workload a = new Workload(order, lookup, new int[] {30, 50, 20}, 99);
+                Workload b = Workload.fromDescription(a.describe());
+                List<Integer> inserted = a.insertOrder(keys);
+                if (inserted.size() != NUMS || !new HashSet<>(inserted).equals(new HashSet<>(keys)))
+                    System.out.println(order + " is not a permutation!");
+                if (!inserted.equals(b.insertOrder(keys))
+                        || !a.lookups(keys, NUMS, x -> -1 - x).equals(b.lookups(keys, NUMS, x -> -1 - x)))
+                    System.out.println(a + " is not reproducible!");
+                if (a.mixed(keys, NUMS, x -> -1 - x).size() != NUMS)
+                    System.out.println(a + " mixed size error!");
+            }
+        }
+
+        // shapes of a few orders
+        List<Integer> sorted = new Workload(Workload.Order.SORTED, Workload.Lookup.DATASET, null, 1).insertOrder(keys);
+        List<Integer> reverse = new Workload(Workload.Order.REVERSE, Workload.Lookup.DATASET, null, 1)
+                .insertOrder(keys);
+        List<Integer> zigzag = new Workload(Workload.Order.ZIGZAG, Workload.Lookup.DATASET, null, 1).insertOrder(keys);
+        if (sorted.get(0) != 0 || reverse.get(0) != NUMS - 1 || zigzag.get(0) != 0 || zigzag.get(1) != NUMS - 1)
+            System.out.println("Order shape error!");
+
+        // miss-heavy lookups are mostly misses; Zipf lookups repeat a few keys a lot
+        List<Integer> misses = new Workload(Workload.Order.RANDOM, Workload.Lookup.MISS_HEAVY, null, 5)
+                .lookups(keys, NUMS, x -> -1 - x);
+        long missCount = misses.stream().filter(x -> x < 0).count();
+        if (missCount < NUMS * 85 / 100 || missCount > NUMS * 95 / 100)
+            System.out.println("Miss-heavy ratio error!");
+        List<Integer> zipf = new Workload(Workload.Order.RANDOM, Workload.Lookup.ZIPF, null, 5)
+                .lookups(keys, NUMS, x -> -1 - x);
+        if (new HashSet<>(zipf).size() > NUMS / 2)
+            System.out.println("Zipf skew error!");
+    }
+}
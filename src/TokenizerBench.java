@@ -0,0 +1,101 @@
+/**
+ * @file: TokenizerBench.java
+ * @description: Generates a large command file (with irregular spacing, tabs and blank lines) and measures how many
+ * commands per second can be turned into a verb and an argument, first with Parser's old per-line approach
+ * (Scanner, trim, replaceAll, split and join) and then with CommandTokenizer. Both must produce the same commands.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Scanner;
+
+public class TokenizerBench {
+    private static final String[] VERBS = {"insert", "search", "remove", "print", "bogus"};
+
+    public static void main(String[] args) throws IOException {
+        // Usage: java TokenizerBench [commands] [rounds] [seed]
+        int commands = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+
+        File commandFile = File.createTempFile("commands", ".txt");
+        commandFile.deleteOnExit();
+        writeCommands(commandFile, commands, new Random(seed));
+
+        System.out.println("===========Tokenizer Benchmark===========");
+        System.out.printf("commands: %d, file size: %d bytes, seed: %d\n", commands, commandFile.length(), seed);
+        /* The first round only warms up the JIT */
+        for (int round = 0; round <= rounds; round++) {
+            long start = System.nanoTime();
+            long regexHash = regex(commandFile);
+            double regexRate = commands / ((System.nanoTime() - start) / 1_000_000_000.0);
+
+            start = System.nanoTime();
+            long tokenizerHash = tokenizer(commandFile);
+            double tokenizerRate = commands / ((System.nanoTime() - start) / 1_000_000_000.0);
+
+            if (regexHash != tokenizerHash) {
+                System.out.println("TOKENIZER OUTPUT DIFFERS FROM REGEX OUTPUT!");
+                System.exit(1);
+            }
+            if (round > 0) {
+                System.out.printf("round %d: regex %.0f commands/second, tokenizer %.0f commands/second (%.1fx)\n",
+                        round, regexRate, tokenizerRate, tokenizerRate / regexRate);
+            }
+        }
+    }
+
+    /* tokenizes the file the way Parser used to; returns a hash of the commands so the work is not optimized away */
+    private static long regex(File file) throws IOException {
+        long hash = 0;
+        try (Scanner scanner = new Scanner(file)) {
+            while (scanner.hasNextLine()) {
+                String editedLine = scanner.nextLine().trim().replaceAll("\\s+", " ");
+                if (editedLine.isEmpty()) {
+                    continue;
+                }
+                String[] command = editedLine.split(" ");
+                String argument = String.join(" ", Arrays.copyOfRange(command, 1, command.length)).trim();
+                hash = 31 * hash + command[0].hashCode() * 17L + argument.hashCode();
+            }
+        }
+        return hash;
+    }
+
+    /* tokenizes the file with CommandTokenizer; returns the same hash as regex() */
+    private static long tokenizer(File file) throws IOException {
+        long hash = 0;
+        try (CommandTokenizer tokens = new CommandTokenizer(new FileInputStream(file).getChannel())) {
+            while (tokens.next()) {
+                hash = 31 * hash + tokens.verb().hashCode() * 17L + tokens.argument().hashCode();
+            }
+        }
+        return hash;
+    }
+
+    /* writes commands with the spacing quirks the parser has to handle */
+    private static void writeCommands(File file, int commands, Random random) throws IOException {
+        try (PrintWriter out = new PrintWriter(new FileWriter(file))) {
+            for (int i = 0; i < commands; i++) {
+                String verb = VERBS[random.nextInt(VERBS.length)];
+                String gap = random.nextInt(4) == 0 ? " \t " : " ";
+                String indent = random.nextInt(8) == 0 ? "   " : "";
+                if (verb.equals("print")) {
+                    out.println(indent + verb);
+                }
+                else {
+                    out.println(indent + verb + gap + "Driver" + gap + "Number " + random.nextInt(1000));
+                }
+                if (random.nextInt(50) == 0) {
+                    out.println("  ");
+                }
+            }
+        }
+    }
+}
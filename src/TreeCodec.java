@@ -0,0 +1,28 @@
+/**
+ * @file: TreeCodec.java
+ * @description: This interface defines how a tree element is written to and read back from a binary snapshot. Trees
+ * handle the shape of the snapshot; a codec only handles one element at a time.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public interface TreeCodec<E> {
+    /**
+     * Writes one element
+     *
+     * @param element the element to write.
+     * @param out the stream to write to.
+     */
+    void write(E element, DataOutput out) throws IOException;
+
+    /**
+     * Reads one element written by write()
+     *
+     * @param in the stream to read from.
+     * @return the element.
+     */
+    E read(DataInput in) throws IOException;
+}
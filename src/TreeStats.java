@@ -0,0 +1,176 @@
+/**
+ * @file: TreeStats.java
+ * @description: Defines opt-in instrumentation counters for the search trees: comparisons, nodes visited and path
+ * lengths per operation type, rotations by type, and the current tree height. A tree only pays for the counters
+ * when a TreeStats object is attached to it; otherwise each hook is a single null check.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.function.IntSupplier;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+public class TreeStats implements TreeStatsMBean {
+    /* Tree operations that are counted separately */
+    public enum Op { INSERT, SEARCH, REMOVE }
+
+    /* Rotation kinds, named after the AvlTree rotation methods. A double rotation is also counted as its two singles. */
+    public enum Rotation { WITH_LEFT_CHILD, WITH_RIGHT_CHILD, DOUBLE_WITH_LEFT_CHILD, DOUBLE_WITH_RIGHT_CHILD }
+
+    private final long[] operations = new long[Op.values().length];
+    private final long[] comparisons = new long[Op.values().length];
+    private final long[] nodesVisited = new long[Op.values().length];
+    private final long[] maxPathLength = new long[Op.values().length];
+    private final long[] rotations = new long[Rotation.values().length];
+
+    private IntSupplier heightSource = () -> -1;
+    private boolean heightIsCheap;              // the source is O(1), so it is read after every operation
+    private volatile int height = -1;           // last height read on the tree's thread; JMX reads only this
+    private Op current = Op.SEARCH;
+    private long pathStart;
+
+    /* Default Constructor */
+    public TreeStats() {
+    }
+
+    /* Copy Constructor (takes a point-in-time snapshot, including the current height) */
+    public TreeStats(TreeStats other) {
+        System.arraycopy(other.operations, 0, operations, 0, operations.length);
+        System.arraycopy(other.comparisons, 0, comparisons, 0, comparisons.length);
+        System.arraycopy(other.nodesVisited, 0, nodesVisited, 0, nodesVisited.length);
+        System.arraycopy(other.maxPathLength, 0, maxPathLength, 0, maxPathLength.length);
+        System.arraycopy(other.rotations, 0, rotations, 0, rotations.length);
+        height = other.height;
+        heightSource = () -> height;
+    }
+
+    /**
+     * Called by a tree when the counters are attached. The height is read from the source on the tree's own
+     * thread: after every operation when reading it is O(1), otherwise only when snapshot() is called.
+     *
+     * @param heightSource returns the tree's current height.
+     * @param constantTime whether the source runs in O(1) (e.g. an AVL root's stored height).
+     */
+    void attach(IntSupplier heightSource, boolean constantTime) {
+        this.heightSource = heightSource;
+        this.heightIsCheap = constantTime;
+        height = heightSource.getAsInt();
+    }
+
+    /* Marks the start of a tree operation */
+    void begin(Op op) {
+        current = op;
+        operations[op.ordinal()]++;
+        pathStart = nodesVisited[op.ordinal()];
+    }
+
+    /* Marks the end of the current operation and records its path length */
+    void end() {
+        int i = current.ordinal();
+        long path = nodesVisited[i] - pathStart;
+        if (path > maxPathLength[i]) {
+            maxPathLength[i] = path;
+        }
+        if (heightIsCheap) {
+            height = heightSource.getAsInt();
+        }
+    }
+
+    /* Records one compareTo call */
+    void compare() {
+        comparisons[current.ordinal()]++;
+    }
+
+    /* Records one node on the search path */
+    void visit() {
+        nodesVisited[current.ordinal()]++;
+    }
+
+    /* Records one rotation */
+    void rotate(Rotation rotation) {
+        rotations[rotation.ordinal()]++;
+    }
+
+    /* Returns a point-in-time copy of the counters, reading the height first; call it on the tree's thread */
+    public TreeStats snapshot() {
+        height = heightSource.getAsInt();
+        return new TreeStats(this);
+    }
+
+    /* Clears every counter */
+    @Override
+    public void reset() {
+        Arrays.fill(operations, 0);
+        Arrays.fill(comparisons, 0);
+        Arrays.fill(nodesVisited, 0);
+        Arrays.fill(maxPathLength, 0);
+        Arrays.fill(rotations, 0);
+    }
+
+    /* Registers these counters with the platform MBean server under proj2:type=TreeStats,name=<name> */
+    public void register(String name) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+                    new ObjectName("proj2:type=TreeStats,name=" + ObjectName.quote(name)));
+        }
+        catch (JMException e) {
+            throw new IllegalStateException("Could not register TreeStats " + name, e);
+        }
+    }
+
+    /* Getter methods per operation type */
+    public long getOperations(Op op) { return operations[op.ordinal()]; }
+    public long getComparisons(Op op) { return comparisons[op.ordinal()]; }
+    public long getNodesVisited(Op op) { return nodesVisited[op.ordinal()]; }
+    public long getMaxPathLength(Op op) { return maxPathLength[op.ordinal()]; }
+    public long getRotations(Rotation rotation) { return rotations[rotation.ordinal()]; }
+
+    /* Average comparisons per operation of the given type */
+    public double getComparisonsPerOp(Op op) {
+        long n = operations[op.ordinal()];
+        return n == 0 ? 0.0 : (double) comparisons[op.ordinal()] / n;
+    }
+
+    /* Average path length (nodes visited) per operation of the given type */
+    public double getAveragePathLength(Op op) {
+        long n = operations[op.ordinal()];
+        return n == 0 ? 0.0 : (double) nodesVisited[op.ordinal()] / n;
+    }
+
+    /* Getter methods exposed through JMX */
+    @Override public long getInserts() { return getOperations(Op.INSERT); }
+    @Override public long getSearches() { return getOperations(Op.SEARCH); }
+    @Override public long getRemoves() { return getOperations(Op.REMOVE); }
+    @Override public double getInsertComparisonsPerOp() { return getComparisonsPerOp(Op.INSERT); }
+    @Override public double getSearchComparisonsPerOp() { return getComparisonsPerOp(Op.SEARCH); }
+    @Override public double getRemoveComparisonsPerOp() { return getComparisonsPerOp(Op.REMOVE); }
+    @Override public long getMaxPathLength() {
+        return Math.max(maxPathLength[0], Math.max(maxPathLength[1], maxPathLength[2]));
+    }
+    @Override public long getSingleRotations() {
+        return getRotations(Rotation.WITH_LEFT_CHILD) + getRotations(Rotation.WITH_RIGHT_CHILD);
+    }
+    @Override public long getDoubleRotations() {
+        return getRotations(Rotation.DOUBLE_WITH_LEFT_CHILD) + getRotations(Rotation.DOUBLE_WITH_RIGHT_CHILD);
+    }
+    /* The height as last published, so a JMX thread never walks the tree while it is being changed */
+    @Override public int getHeight() { return height; }
+
+    /* Returns a multi-line report of all counters */
+    @Override
+    public String toString() {
+        StringBuilder output = new StringBuilder();
+        for (Op op : Op.values()) {
+            output.append(String.format("%-6s ops: %d, comparisons/op: %.2f, avg path: %.2f, max path: %d\n",
+                    op, getOperations(op), getComparisonsPerOp(op), getAveragePathLength(op), getMaxPathLength(op)));
+        }
+        output.append("rotations:");
+        for (Rotation rotation : Rotation.values()) {
+            output.append(" ").append(rotation).append("=").append(getRotations(rotation));
+        }
+        output.append("\nheight: ").append(getHeight());
+        return output.toString();
+    }
+}
@@ -0,0 +1,19 @@
+/**
+ * @file: TreeStatsMBean.java
+ * @description: JMX management interface for TreeStats, so the tree counters can be watched from JConsole.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+public interface TreeStatsMBean {
+    long getInserts();
+    long getSearches();
+    long getRemoves();
+    double getInsertComparisonsPerOp();
+    double getSearchComparisonsPerOp();
+    double getRemoveComparisonsPerOp();
+    long getMaxPathLength();
+    long getSingleRotations();
+    long getDoubleRotations();
+    int getHeight();
+    void reset();
+}
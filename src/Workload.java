@@ -0,0 +1,318 @@
+/**
+ * @file: Workload.java
+ * @description: Defines seeded workload generators for the tree benchmarks: insertion orders (sorted, random,
+ * nearly sorted, reverse, zigzag, sawtooth), lookup distributions (dataset order, uniform, Zipf-skewed, miss-heavy)
+ * and mixed insert/search/remove sequences. Every generator draws from its own Random seeded from the workload
+ * seed, so a workload is fully reproducible from its description.
+ * @author: Chris Cha {@literal <chah22@wfu.edu>}
+ * @date: October 19, 2026
+ */
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.UnaryOperator;
+
+public class Workload {
+    /* The order keys are inserted in */
+    public enum Order { SORTED, RANDOM, NEARLY_SORTED, REVERSE, ZIGZAG, SAWTOOTH }
+
+    /* How search keys are drawn */
+    public enum Lookup { DATASET, UNIFORM, ZIPF, MISS_HEAVY }
+
+    private static final double ZIPF_EXPONENT = 0.99;
+    private static final int NEARLY_SORTED_PERCENT = 1;         // share of keys moved out of place
+    private static final int NEARLY_SORTED_DISTANCE = 10;       // how far they move
+    private static final int MISS_PERCENT = 90;                 // misses in a miss-heavy lookup stream
+
+    private final Order order;
+    private final Lookup lookup;
+    private final int[] mix;                                    // insert/search/remove percentages (null if none)
+    private final long seed;
+
+    /**
+     * Creates a workload
+     *
+     * @param order the insertion order.
+     * @param lookup the distribution of search keys.
+     * @param mix insert, search and remove percentages for a mixed sequence, summing to 100 (null for none).
+     * @param seed the seed every generator is derived from.
+     */
+    public Workload(Order order, Lookup lookup, int[] mix, long seed) {
+        if (mix != null) {
+            checkMix(mix);
+        }
+        this.order = order;
+        this.lookup = lookup;
+        this.mix = (mix == null) ? null : mix.clone();
+        this.seed = seed;
+    }
+
+    public Order getOrder() { return order; }
+    public Lookup getLookup() { return lookup; }
+    public long getSeed() { return seed; }
+    public boolean hasMix() { return mix != null; }
+
+    /**
+     * Parses an order or lookup name as written on the command line, e.g. "nearly-sorted" or "zipf"
+     *
+     * @param type the enum class to parse into.
+     * @param name the name, in any case, with '-' or '_' between words.
+     * @return the constant.
+     * @throws IllegalArgumentException if there is no such constant.
+     */
+    public static <T extends Enum<T>> T parse(Class<T> type, String name) {
+        for (T constant : type.getEnumConstants()) {
+            if (constant.name().equals(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'))) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("unknown " + type.getSimpleName().toLowerCase(Locale.ROOT) + ": " + name);
+    }
+
+    /**
+     * Parses a mix written as "insert/search/remove" percentages, e.g. "50/40/10"
+     *
+     * @param text the mix.
+     * @return the three percentages.
+     * @throws IllegalArgumentException if the text is malformed or does not sum to 100.
+     */
+    public static int[] parseMix(String text) {
+        String[] parts = text.split("/");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("mix must look like insert/search/remove, e.g. 50/40/10");
+        }
+        int[] mix = new int[3];
+        for (int i = 0; i < 3; i++) {
+            mix[i] = Integer.parseInt(parts[i].trim());
+        }
+        checkMix(mix);
+        return mix;
+    }
+
+    /* rejects a mix that is not three non-negative percentages summing to 100 */
+    private static void checkMix(int[] mix) {
+        if (mix.length != 3 || mix[0] < 0 || mix[1] < 0 || mix[2] < 0 || mix[0] + mix[1] + mix[2] != 100) {
+            throw new IllegalArgumentException("mix must be three non-negative percentages summing to 100");
+        }
+    }
+
+    /* returns a name for an order or lookup as written on the command line, e.g. "nearly-sorted" */
+    public static String name(Enum<?> constant) {
+        return constant.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    /* describes the workload in a form that can be passed back on the command line (no commas or spaces) */
+    public String describe() {
+        return "order=" + name(order) + ";lookup=" + name(lookup)
+                + ";mix=" + describeMix() + ";seed=" + seed;
+    }
+
+    /* describes the operation mix as insert/search/remove percentages, or "none" */
+    public String describeMix() {
+        return mix == null ? "none" : mix[0] + "/" + mix[1] + "/" + mix[2];
+    }
+
+    /**
+     * Recreates a workload from the output of describe(), e.g. as recorded in latency.txt
+     *
+     * @param description the description.
+     * @return the workload it describes.
+     * @throws IllegalArgumentException if the description is malformed.
+     */
+    public static Workload fromDescription(String description) {
+        Order order = null;
+        Lookup lookup = null;
+        int[] mix = null;
+        Long seed = null;
+        for (String field : description.split(";")) {
+            String[] pair = field.split("=", 2);
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("malformed workload field: " + field);
+            }
+            switch (pair[0]) {
+                case "order" -> order = parse(Order.class, pair[1]);
+                case "lookup" -> lookup = parse(Lookup.class, pair[1]);
+                case "mix" -> mix = pair[1].equals("none") ? null : parseMix(pair[1]);
+                case "seed" -> seed = Long.parseLong(pair[1]);
+                default -> throw new IllegalArgumentException("unknown workload field: " + pair[0]);
+            }
+        }
+        if (order == null || lookup == null || seed == null) {
+            throw new IllegalArgumentException("workload description needs order, lookup and seed: " + description);
+        }
+        return new Workload(order, lookup, mix, seed);
+    }
+
+    @Override
+    public String toString() {
+        return describe();
+    }
+
+    /**
+     * Arranges the keys in the workload's insertion order
+     *
+     * @param keys the keys (any order; not changed).
+     * @return a new list of the same keys in insertion order.
+     */
+    public <T extends Comparable<? super T>> List<T> insertOrder(List<T> keys) {
+        List<T> sorted = new ArrayList<>(keys);
+        Collections.sort(sorted);
+        Random random = new Random(seed);
+        int n = sorted.size();
+        switch (order) {
+            case SORTED -> {
+                return sorted;
+            }
+            case RANDOM -> {
+                Collections.shuffle(sorted, random);
+                return sorted;
+            }
+            case NEARLY_SORTED -> {
+                for (int swaps = Math.max(1, n * NEARLY_SORTED_PERCENT / 100); swaps > 0 && n > 1; swaps--) {
+                    int i = random.nextInt(n);
+                    int j = Math.min(n - 1, i + 1 + random.nextInt(NEARLY_SORTED_DISTANCE));
+                    Collections.swap(sorted, i, j);
+                }
+                return sorted;
+            }
+            case REVERSE -> {
+                Collections.reverse(sorted);
+                return sorted;
+            }
+            case ZIGZAG -> {
+                List<T> zigzag = new ArrayList<>(n);
+                for (int lo = 0, hi = n - 1; lo <= hi; lo++, hi--) {
+                    zigzag.add(sorted.get(lo));             // smallest remaining, then largest remaining
+                    if (lo < hi) {
+                        zigzag.add(sorted.get(hi));
+                    }
+                }
+                return zigzag;
+            }
+            default -> {                                    // SAWTOOTH: about sqrt(n) ramps over the whole range
+                int teeth = Math.max(1, (int) Math.sqrt(n));
+                List<T> sawtooth = new ArrayList<>(n);
+                for (int tooth = 0; tooth < teeth; tooth++) {
+                    for (int i = tooth; i < n; i += teeth) {
+                        sawtooth.add(sorted.get(i));
+                    }
+                }
+                return sawtooth;
+            }
+        }
+    }
+
+    /**
+     * Draws search keys from the workload's lookup distribution
+     *
+     * @param keys the keys in the tree, in dataset order (not changed).
+     * @param count the number of search keys to draw.
+     * @param absent turns a key into one that is not in the tree (used for misses).
+     * @return the search keys.
+     */
+    public <T> List<T> lookups(List<T> keys, int count, UnaryOperator<T> absent) {
+        List<T> lookups = new ArrayList<>(count);
+        if (keys.isEmpty()) {
+            return lookups;
+        }
+        Random random = new Random(seed + 1);
+        switch (lookup) {
+            case DATASET -> {
+                for (int i = 0; i < count; i++) {
+                    lookups.add(keys.get(i % keys.size()));
+                }
+            }
+            case UNIFORM -> {
+                for (int i = 0; i < count; i++) {
+                    lookups.add(keys.get(random.nextInt(keys.size())));
+                }
+            }
+            case ZIPF -> {
+                List<T> byPopularity = new ArrayList<>(keys);
+                Collections.shuffle(byPopularity, random);  // the popular keys are spread over the key range
+                double[] cdf = zipf(keys.size());
+                for (int i = 0; i < count; i++) {
+                    lookups.add(byPopularity.get(sample(cdf, random.nextDouble())));
+                }
+            }
+            default -> {                                    // MISS_HEAVY
+                for (int i = 0; i < count; i++) {
+                    T key = keys.get(random.nextInt(keys.size()));
+                    lookups.add(random.nextInt(100) < MISS_PERCENT ? absent.apply(key) : key);
+                }
+            }
+        }
+        return lookups;
+    }
+
+    /**
+     * Builds a mixed sequence of operations: each step is an insert, search or remove with the workload's mix
+     * percentages. Inserts and removes pick keys uniformly; searches follow the lookup distribution.
+     *
+     * @param keys the key pool, in dataset order (not changed).
+     * @param count the number of steps.
+     * @param absent turns a key into one that is not in the tree (used for misses).
+     * @return the steps, or an empty list if the workload has no mix.
+     */
+    public <T> List<Step<T>> mixed(List<T> keys, int count, UnaryOperator<T> absent) {
+        List<Step<T>> steps = new ArrayList<>(count);
+        if (mix == null || keys.isEmpty()) {
+            return steps;
+        }
+        List<T> searches = lookups(keys, count, absent);
+        Random random = new Random(seed + 2);
+        for (int i = 0; i < count; i++) {
+            int roll = random.nextInt(100);
+            if (roll < mix[0]) {
+                steps.add(new Step<>(TreeStats.Op.INSERT, keys.get(random.nextInt(keys.size()))));
+            } else if (roll < mix[0] + mix[1]) {
+                steps.add(new Step<>(TreeStats.Op.SEARCH, searches.get(i)));
+            } else {
+                steps.add(new Step<>(TreeStats.Op.REMOVE, keys.get(random.nextInt(keys.size()))));
+            }
+        }
+        return steps;
+    }
+
+    /* one operation of a mixed sequence */
+    public static class Step<T> {
+        public final TreeStats.Op op;
+        public final T key;
+
+        Step(TreeStats.Op op, T key) {
+            this.op = op;
+            this.key = key;
+        }
+    }
+
+    /* cumulative probabilities of ranks 0..n-1 under a Zipf distribution */
+    private static double[] zipf(int n) {
+        double[] cdf = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += 1.0 / Math.pow(i + 1, ZIPF_EXPONENT);
+            cdf[i] = total;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= total;
+        }
+        return cdf;
+    }
+
+    /* returns the rank whose cumulative probability first reaches u */
+    private static int sample(double[] cdf, double u) {
+        int lo = 0;
+        int hi = cdf.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cdf[mid] < u) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}